@@ -6,20 +6,51 @@ import { uploadAPI } from '../services/api';
 const { Dragger } = Upload;
 const { Title, Text, Paragraph } = Typography;
 
+const JOB_POLL_INTERVAL_MS = 1000;
+
+const sleep = (ms) => new Promise((resolve) => setTimeout(resolve, ms));
+
 const FileUpload = () => {
   const [uploading, setUploading] = useState(false);
   const [uploadResult, setUploadResult] = useState(null);
   const [error, setError] = useState(null);
+  const [job, setJob] = useState(null);
+
+  // The Spring Boot backend queues the file and returns a job id; poll it until it finishes
+  const waitForImportJob = async (jobId) => {
+    while (true) {
+      const response = await uploadAPI.getImportJob(jobId);
+      const currentJob = response.data.job;
+      setJob(currentJob);
+      if (currentJob.status === 'COMPLETED' || currentJob.status === 'FAILED') {
+        return currentJob;
+      }
+      await sleep(JOB_POLL_INTERVAL_MS);
+    }
+  };
 
   const handleUpload = async (file) => {
     setUploading(true);
     setError(null);
     setUploadResult(null);
+    setJob(null);
 
     try {
       const response = await uploadAPI.uploadExcelFile(file);
       
-      if (response.data.success) {
+      if (response.data.success && response.data.jobId) {
+        const finishedJob = await waitForImportJob(response.data.jobId);
+        if (finishedJob.status === 'COMPLETED') {
+          setUploadResult({
+            transactionsProcessed: finishedJob.rowsSaved,
+            rowsSkipped: finishedJob.rowsSkipped,
+            rowsFailed: finishedJob.rowsFailed,
+            rowsDuplicate: finishedJob.rowsDuplicate,
+          });
+        } else {
+          setError(finishedJob.errorMessage || 'Import failed');
+        }
+      } else if (response.data.success) {
         setUploadResult(response.data);
       } else {
         setError(response.data.message || 'Upload failed');
@@ -29,6 +60,7 @@ const FileUpload = () => {
       setError(err.response?.data?.message || 'Failed to upload file. Please try again.');
     } finally {
       setUploading(false);
+      setJob(null);
     }
 
     return false; // Prevent default upload behavior
@@ -70,7 +102,11 @@ const FileUpload = () => {
         {uploading && (
           <div style={{ marginTop: 16 }}>
             <Progress percent={100} status="active" />
-            <Text>Processing your file...</Text>
+            <Text>
+              {job
+                ? `Processing your file... ${job.rowsParsed} rows read, ${job.rowsSaved} saved`
+                : 'Processing your file...'}
+            </Text>
           </div>
         )}
 
@@ -87,7 +123,13 @@ const FileUpload = () => {
         {uploadResult && (
           <Alert
             message="Upload Successful!"
-            description={`Successfully processed ${uploadResult.transactionsProcessed} transactions from your Excel file.`}
+            description={
+              `Successfully processed ${uploadResult.transactionsProcessed} transactions from your Excel file.` +
+              (uploadResult.rowsSkipped !== undefined
+                ? ` ${uploadResult.rowsSkipped} rows skipped, ${uploadResult.rowsFailed} failed,` +
+                  ` ${uploadResult.rowsDuplicate} already imported.`
+                : '')
+            }
             type="success"
             showIcon
             style={{ marginTop: 16 }}
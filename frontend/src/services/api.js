@@ -115,6 +115,8 @@ export const uploadAPI = {
     });
   },
   
+  getImportJob: (jobId) => api.get(`/upload/jobs/${jobId}`),
+  
   getSampleFormat: () => api.get('/upload/sample-format'),
 };
 
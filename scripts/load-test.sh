@@ -0,0 +1,52 @@
+#!/bin/bash
+
+# Load test for the dashboard read endpoints
+# Usage: ./scripts/load-test.sh [base-url] [concurrency...]
+#
+# Runs the same endpoint mix at increasing concurrency and prints throughput and latency
+# percentiles for each level. Run it once against the default build and once against
+# a -Pjdk21 build started with SPRING_PROFILES_ACTIVE=<env>,virtual-threads to compare
+# platform and virtual threads. Add -Djdk.tracePinnedThreads=short to the JVM of the
+# virtual-thread run to log any remaining carrier pinning.
+#
+# Requires hey (https://github.com/rakyll/hey). Environment overrides:
+#   USERNAME / PASSWORD   account to log in with (default demo / demo123)
+#   REQUESTS              requests per endpoint and level (default 2000)
+
+set -e
+
+BASE_URL=${1:-http://localhost:8080}
+shift || true
+LEVELS=${*:-"10 50 200 500"}
+USERNAME=${USERNAME:-demo}
+PASSWORD=${PASSWORD:-demo123}
+REQUESTS=${REQUESTS:-2000}
+ENDPOINTS="/api/dashboard/bundle /api/dashboard/summary /api/dashboard/stats /api/dashboard/transactions?size=50"
+
+if ! command -v hey &> /dev/null; then
+    echo "❌ hey not found. Install it with: go install github.com/rakyll/hey@latest"
+    exit 1
+fi
+
+TOKEN=$(curl -sf -X POST "$BASE_URL/api/auth/login" \
+    -H "Content-Type: application/json" \
+    -d "{\"usernameOrEmail\":\"$USERNAME\",\"password\":\"$PASSWORD\"}" \
+    | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')
+
+if [ -z "$TOKEN" ]; then
+    echo "❌ Login failed for $USERNAME at $BASE_URL"
+    exit 1
+fi
+
+printf "%-40s %6s %10s %10s %10s %10s\n" "endpoint" "conc" "req/s" "p50(s)" "p99(s)" "errors"
+for LEVEL in $LEVELS; do
+    for ENDPOINT in $ENDPOINTS; do
+        # Every request is unconditional (no If-None-Match), so none are answered with 304
+        OUTPUT=$(hey -n "$REQUESTS" -c "$LEVEL" -H "Authorization: Bearer $TOKEN" "$BASE_URL$ENDPOINT")
+        RPS=$(echo "$OUTPUT" | awk '/Requests\/sec/ {print $2}')
+        P50=$(echo "$OUTPUT" | awk '/ 50% in/ {print $3}')
+        P99=$(echo "$OUTPUT" | awk '/ 99% in/ {print $3}')
+        OK=$(echo "$OUTPUT" | awk '/\[200\]/ {print $2}')
+        printf "%-40s %6s %10s %10s %10s %10s\n" "$ENDPOINT" "$LEVEL" "$RPS" "$P50" "$P99" "$((REQUESTS - ${OK:-0}))"
+    done
+done
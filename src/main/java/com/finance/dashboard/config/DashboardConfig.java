@@ -0,0 +1,41 @@
+package com.finance.dashboard.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class DashboardConfig {
+    
+    /**
+     * Executor for the dashboard bundle's parallel queries. Its concurrency is kept well below
+     * the JDBC pool size so concurrent bundles cannot starve other requests of connections.
+     * <p>
+     * On platform threads this is a bounded pool; when it is saturated the request thread runs
+     * the query itself rather than failing. With spring.threads.virtual.enabled each task gets
+     * its own virtual thread and the same limit is applied as a concurrency throttle.
+     */
+    @Bean
+    public AsyncTaskExecutor dashboardExecutor(@Value("${app.dashboard.bundle.workers:4}") int workers,
+                                               @Value("${app.dashboard.bundle.queue-capacity:100}") int queueCapacity,
+                                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("dashboard-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(workers);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
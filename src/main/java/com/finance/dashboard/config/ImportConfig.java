@@ -0,0 +1,84 @@
+package com.finance.dashboard.config;
+
+import com.finance.dashboard.service.JpaTransactionImportSink;
+import com.finance.dashboard.service.PostgresCopyTransactionImportSink;
+import com.finance.dashboard.service.TransactionImportSink;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+@Configuration
+public class ImportConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ImportConfig.class);
+    
+    /**
+     * COPY ingestion is opt-in (app.import.copy-enabled) and only used on PostgreSQL;
+     * every other database (the H2 dev profile) falls back to batched JPA inserts.
+     */
+    @Bean
+    public TransactionImportSink transactionImportSink(@Value("${app.import.copy-enabled:false}") boolean copyEnabled,
+                                                       DataSource dataSource,
+                                                       EntityManager entityManager) {
+        if (copyEnabled) {
+            if (isPostgres(dataSource)) {
+                logger.info("Using PostgreSQL COPY for transaction imports");
+                return new PostgresCopyTransactionImportSink(dataSource);
+            }
+            logger.warn("app.import.copy-enabled is set but the database is not PostgreSQL; using batched inserts");
+        }
+        return new JpaTransactionImportSink(entityManager);
+    }
+    
+    /**
+     * Bounded pool for background Excel imports. When all workers are busy and the queue is
+     * full, new uploads are rejected instead of piling up. It stays on platform threads even
+     * with virtual threads enabled: parsing is CPU-bound and the rejection relies on the queue.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor importJobExecutor(@Value("${app.import.workers:2}") int workers,
+                                                    @Value("${app.import.queue-capacity:10}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("excel-import-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+    
+    /**
+     * Workers that parse and categorize uploaded rows in parallel (app.import.parse-workers,
+     * 0 = one per core). Shared by all running imports; each import bounds its own in-flight
+     * batches, so the unbounded queue cannot grow past that.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor importParseExecutor(@Value("${app.import.parse-workers:0}") int parseWorkers) {
+        int workers = parseWorkers > 0 ? parseWorkers : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setThreadNamePrefix("excel-parse-");
+        return executor;
+    }
+    
+    private boolean isPostgres(DataSource dataSource) {
+        try {
+            String productName = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(productName);
+        } catch (MetaDataAccessException e) {
+            logger.warn("Could not determine database product: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.finance.dashboard.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+    
+    /**
+     * Makes {@code @Timed} on Spring beans (e.g. FinancialStatisticsService) record timers.
+     * Only calls through the bean proxy are timed, not calls a bean makes to itself.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
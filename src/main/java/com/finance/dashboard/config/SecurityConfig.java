@@ -2,17 +2,25 @@ package com.finance.dashboard.config;
 
 import com.finance.dashboard.security.JwtAuthenticationFilter;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -43,6 +51,48 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
     
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration(JwtAuthenticationFilter filter) {
+        // Only run the filter inside the security chain, not again as a plain servlet filter
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+    
+    /**
+     * The Prometheus scrape endpoint (when exposed through management.endpoints) takes HTTP Basic
+     * credentials of a dedicated metrics user rather than a JWT, which Prometheus cannot renew.
+     * Without app.metrics.password every request is denied.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metricsFilterChain(HttpSecurity http,
+                                                  @Value("${app.metrics.username:prometheus}") String username,
+                                                  @Value("${app.metrics.password:}") String password) throws Exception {
+        DaoAuthenticationProvider metricsProvider = new DaoAuthenticationProvider();
+        metricsProvider.setUserDetailsService(new InMemoryUserDetailsManager(User.withUsername(username)
+            .password(passwordEncoder.encode(password))
+            .roles("METRICS")
+            .build()));
+        metricsProvider.setPasswordEncoder(passwordEncoder);
+        
+        http
+            .securityMatcher("/actuator/prometheus")
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .authorizeHttpRequests(authz -> {
+                if (password.isEmpty()) {
+                    authz.anyRequest().denyAll();
+                } else {
+                    authz.anyRequest().hasRole("METRICS");
+                }
+            })
+            .authenticationManager(new ProviderManager(metricsProvider))
+            .httpBasic(Customizer.withDefaults());
+        
+        return http.build();
+    }
+    
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -57,6 +107,8 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
+                // Completion dispatch of streamed responses (exports); the original request was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
                 .requestMatchers("/actuator/health").permitAll()
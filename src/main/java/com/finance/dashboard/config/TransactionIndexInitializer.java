@@ -0,0 +1,98 @@
+package com.finance.dashboard.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates the access-path indexes of the transactions table on PostgreSQL. They are built
+ * with {@code CREATE INDEX CONCURRENTLY}, so the first start against a large existing table
+ * does not take a lock that blocks writes while the index is built. H2 gets the same indexes
+ * from schema-h2.sql.
+ * <p>
+ * Runs once the application is ready, on the startup thread: the web server is already
+ * serving, and queries use the indexes as soon as each one is valid. A concurrent build that
+ * failed leaves an invalid index behind, which is dropped and built again on the next start.
+ */
+@Component
+public class TransactionIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionIndexInitializer.class);
+
+    // Index name -> definition on the transactions table
+    private static final Map<String, String> INDEXES = new LinkedHashMap<>();
+
+    static {
+        // Listings and date-range filters; the trailing id also serves the keyset pagination order
+        INDEXES.put("idx_transactions_user_date", "(user_id, date, id)");
+        // Totals by type over a date range, answered from the index alone
+        INDEXES.put("idx_transactions_user_type_date", "(user_id, type, date) INCLUDE (amount, category_id)");
+        // Per-category lookups
+        INDEXES.put("idx_transactions_user_category", "(user_id, category_id)");
+        // Import deduplication probe; manually entered transactions have no fingerprint
+        INDEXES.put("idx_transactions_user_fingerprint", "(user_id, fingerprint) WHERE fingerprint IS NOT NULL");
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+
+    // The EntityManagerFactory dependency makes sure Hibernate has created the table first
+    public TransactionIndexInitializer(JdbcTemplate jdbcTemplate, DataSource dataSource,
+                                       EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        if (!isPostgres()) {
+            return;
+        }
+
+        for (Map.Entry<String, String> index : INDEXES.entrySet()) {
+            String name = index.getKey();
+            List<Boolean> valid = jdbcTemplate.queryForList(
+                "SELECT i.indisvalid FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid " +
+                "WHERE c.relname = ? AND pg_table_is_visible(c.oid)", Boolean.class, name);
+            if (!valid.isEmpty() && valid.get(0)) {
+                continue;
+            }
+
+            long start = System.nanoTime();
+            try {
+                if (!valid.isEmpty()) {
+                    logger.warn("Index {} is invalid (an earlier concurrent build failed); rebuilding it", name);
+                    jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+                }
+                // CONCURRENTLY cannot run inside a transaction; JdbcTemplate runs it in autocommit mode
+                jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name + " ON transactions " + index.getValue());
+                logger.info("Created index {} in {} ms", name, (System.nanoTime() - start) / 1_000_000);
+            } catch (RuntimeException e) {
+                // Queries still work without the index; the next start tries again
+                logger.error("Could not create index {}: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    private boolean isPostgres() {
+        try {
+            String productName = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(productName);
+        } catch (MetaDataAccessException e) {
+            logger.warn("Could not determine database product: {}", e.getMessage());
+            return false;
+        }
+    }
+}
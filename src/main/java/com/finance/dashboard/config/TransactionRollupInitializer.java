@@ -0,0 +1,45 @@
+package com.finance.dashboard.config;
+
+import com.finance.dashboard.repository.TransactionRepository;
+import com.finance.dashboard.service.TransactionRollupService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Builds the rollups of every user who has transactions but no rollup rows, for data that
+ * predates the rollup tables. After that they are maintained on every write.
+ * <p>
+ * Runs while the context is being refreshed, like {@link TransactionSequenceInitializer}, so
+ * the embedded web server does not serve summaries from empty rollups in the meantime.
+ */
+@Component
+public class TransactionRollupInitializer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TransactionRollupInitializer.class);
+    
+    private final TransactionRollupService transactionRollupService;
+    private final TransactionRepository transactionRepository;
+    
+    public TransactionRollupInitializer(TransactionRollupService transactionRollupService,
+                                        TransactionRepository transactionRepository) {
+        this.transactionRollupService = transactionRollupService;
+        this.transactionRepository = transactionRepository;
+    }
+    
+    @PostConstruct
+    public void buildMissingRollups() {
+        List<Long> userIds = transactionRepository.findUserIdsWithoutRollups();
+        if (userIds.isEmpty()) {
+            return;
+        }
+        
+        logger.info("Building transaction rollups for {} users", userIds.size());
+        for (Long userId : userIds) {
+            transactionRollupService.rebuildForUser(userId);
+        }
+    }
+}
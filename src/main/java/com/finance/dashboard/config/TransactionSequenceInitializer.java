@@ -0,0 +1,54 @@
+package com.finance.dashboard.config;
+
+import com.finance.dashboard.model.Transaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the transactions id sequence past any ids that were assigned before the table
+ * switched from IDENTITY to a pooled sequence, so existing databases do not hit
+ * primary key collisions.
+ * <p>
+ * Runs while the context is being refreshed rather than as a {@code CommandLineRunner}:
+ * the embedded web server only starts accepting requests once every singleton has been
+ * initialized, so no request can draw an id block before the sequence has been moved.
+ */
+@Component
+public class TransactionSequenceInitializer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TransactionSequenceInitializer.class);
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    
+    public TransactionSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+    
+    @PostConstruct
+    public void alignSequence() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM transactions", Long.class);
+        if (maxId == null || maxId == 0) {
+            return;
+        }
+        
+        String nextValSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport()
+                .getSequenceNextValString(Transaction.ID_SEQUENCE);
+        Long nextValue = jdbcTemplate.queryForObject(nextValSql, Long.class);
+        
+        // The pooled optimizer hands out (value - allocationSize, value], so the whole block
+        // below the next value has to be clear of existing ids.
+        if (nextValue != null && nextValue - Transaction.ID_ALLOCATION_SIZE < maxId) {
+            long restartWith = maxId + Transaction.ID_ALLOCATION_SIZE;
+            jdbcTemplate.execute("ALTER SEQUENCE " + Transaction.ID_SEQUENCE + " RESTART WITH " + restartWith);
+            logger.info("Moved {} to {} (max existing transaction id: {})", Transaction.ID_SEQUENCE, restartWith, maxId);
+        }
+    }
+}
@@ -4,25 +4,34 @@ import com.finance.dashboard.dto.BudgetComparisonDto;
 import com.finance.dashboard.dto.CategorySummaryDto;
 import com.finance.dashboard.dto.FinancialSummaryDto;
 import com.finance.dashboard.dto.HeatmapDataDto;
-import com.finance.dashboard.model.Transaction;
+import com.finance.dashboard.dto.TransactionRowDto;
 import com.finance.dashboard.model.User;
 import com.finance.dashboard.repository.TransactionRepository;
+import com.finance.dashboard.service.DashboardBundleService;
+import com.finance.dashboard.service.DashboardResponseCache;
 import com.finance.dashboard.service.FinancialStatisticsService;
 import com.finance.dashboard.util.SecurityUtil;
+import com.finance.dashboard.util.TimeSeries;
+import com.finance.dashboard.util.TransactionCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/dashboard")
@@ -33,40 +42,55 @@ public class DashboardController {
 
     private final TransactionRepository transactionRepository;
     
+    private final DashboardResponseCache dashboardResponseCache;
+    
+    private final DashboardBundleService dashboardBundleService;
+    
     @Autowired
     public DashboardController(FinancialStatisticsService financialStatisticsService,
-                              TransactionRepository transactionRepository) {
+                              TransactionRepository transactionRepository,
+                              DashboardResponseCache dashboardResponseCache,
+                              DashboardBundleService dashboardBundleService) {
         this.financialStatisticsService = financialStatisticsService;
         this.transactionRepository = transactionRepository;
+        this.dashboardResponseCache = dashboardResponseCache;
+        this.dashboardBundleService = dashboardBundleService;
+    }
+    
+    /**
+     * All dashboard widgets in one response: summary (current year), currentMonth, stats,
+     * topExpenses, averageMonthlyExpenses, budgetComparison and expenseHeatmap, each with
+     * the defaults of its standalone endpoint.
+     */
+    @GetMapping("/bundle")
+    public ResponseEntity<Map<String, Object>> getDashboardBundle(WebRequest request) {
+        User currentUser = SecurityUtil.getCurrentUser();
+        return cached(request, () -> dashboardBundleService.getBundleForUser(currentUser), "bundle");
     }
     
     @GetMapping("/summary")
     public ResponseEntity<FinancialSummaryDto> getFinancialSummary(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        
-        FinancialSummaryDto summary;
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest request) {
         
-        if (startDate != null && endDate != null) {
-            summary = financialStatisticsService.getFinancialSummary(startDate, endDate);
-        } else {
+        return cached(request, () -> {
+            if (startDate != null && endDate != null) {
+                return financialStatisticsService.getFinancialSummary(startDate, endDate);
+            }
             // Default to current year
-            summary = financialStatisticsService.getCurrentYearSummary();
-        }
-        
-        return ResponseEntity.ok(summary);
+            return financialStatisticsService.getCurrentYearSummary();
+        }, "summary", startDate, endDate);
     }
     
     @GetMapping("/summary/current-month")
-    public ResponseEntity<FinancialSummaryDto> getCurrentMonthSummary() {
-        FinancialSummaryDto summary = financialStatisticsService.getCurrentMonthSummary();
-        return ResponseEntity.ok(summary);
+    public ResponseEntity<FinancialSummaryDto> getCurrentMonthSummary(WebRequest request) {
+        return cached(request, financialStatisticsService::getCurrentMonthSummary, "summary/current-month");
     }
     
     @GetMapping("/summary/current-year")
-    public ResponseEntity<FinancialSummaryDto> getCurrentYearSummary() {
-        FinancialSummaryDto summary = financialStatisticsService.getCurrentYearSummary();
-        return ResponseEntity.ok(summary);
+    public ResponseEntity<FinancialSummaryDto> getCurrentYearSummary(WebRequest request) {
+        return cached(request, financialStatisticsService::getCurrentYearSummary, "summary/current-year");
     }
     
     @GetMapping("/transactions")
@@ -76,10 +100,17 @@ public class DashboardController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "50") int size,
             @RequestParam(required = false) String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean includeTotal) {
         
         User currentUser = SecurityUtil.getCurrentUser();
         
+        // Passing a cursor (empty for the first page) switches to keyset pagination
+        if (cursor != null) {
+            return getTransactionsAfterCursor(currentUser, startDate, endDate, size, cursor);
+        }
+        
         Pageable pageable;
         if (sortBy != null && !sortBy.isEmpty()) {
             Sort.Direction direction = sortDir.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC;
@@ -89,13 +120,30 @@ public class DashboardController {
             pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "date"));
         }
         
-        Page<Transaction> transactionPage;
+        if (!includeTotal) {
+            // Skip the COUNT query; clients page until hasNext is false
+            Slice<TransactionRowDto> transactionSlice;
+            if (startDate != null && endDate != null) {
+                transactionSlice = transactionRepository.findRowSliceByUserIdAndDateBetween(currentUser.getId(), startDate, endDate, pageable);
+            } else {
+                transactionSlice = transactionRepository.findRowSliceByUserId(currentUser.getId(), pageable);
+            }
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("data", transactionSlice.getContent());
+            response.put("page", transactionSlice.getNumber());
+            response.put("size", transactionSlice.getSize());
+            response.put("hasNext", transactionSlice.hasNext());
+            return ResponseEntity.ok(response);
+        }
+        
+        Page<TransactionRowDto> transactionPage;
         
         if (startDate != null && endDate != null) {
-            transactionPage = transactionRepository.findByUserAndDateBetween(currentUser, startDate, endDate, pageable);
+            transactionPage = transactionRepository.findRowsByUserIdAndDateBetween(currentUser.getId(), startDate, endDate, pageable);
         } else {
             // Get all transactions for the user with pagination
-            transactionPage = transactionRepository.findByUser(currentUser, pageable);
+            transactionPage = transactionRepository.findRowsByUserId(currentUser.getId(), pageable);
         }
         
         Map<String, Object> response = new HashMap<>();
@@ -108,86 +156,173 @@ public class DashboardController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Keyset page ordered by date then id, newest first. Each page seeks past the last
+     * (date, id) instead of skipping rows, so deep pages cost the same as the first one.
+     */
+    private ResponseEntity<Map<String, Object>> getTransactionsAfterCursor(User user, LocalDate startDate,
+                                                                           LocalDate endDate, int size, String cursor) {
+        Map<String, Object> response = new HashMap<>();
+        if (size < 1) {
+            response.put("success", false);
+            response.put("message", "Page size must be at least 1");
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        TransactionCursor after = null;
+        if (!cursor.isEmpty()) {
+            try {
+                after = TransactionCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                response.put("success", false);
+                response.put("message", "Invalid cursor");
+                return ResponseEntity.badRequest().body(response);
+            }
+        }
+        
+        // Fetch one extra row to know whether there is a next page
+        Pageable limit = PageRequest.of(0, size + 1);
+        boolean dateRange = startDate != null && endDate != null;
+        List<TransactionRowDto> transactions;
+        if (after == null) {
+            transactions = dateRange
+                ? transactionRepository.findFirstRowsByUserIdAndDateBetween(user.getId(), startDate, endDate, limit)
+                : transactionRepository.findFirstRowsByUserId(user.getId(), limit);
+        } else {
+            transactions = dateRange
+                ? transactionRepository.findRowsByUserIdAndDateBetweenBefore(user.getId(), startDate, endDate, after.getDate(), after.getId(), limit)
+                : transactionRepository.findRowsByUserIdBefore(user.getId(), after.getDate(), after.getId(), limit);
+        }
+        
+        boolean hasNext = transactions.size() > size;
+        if (hasNext) {
+            transactions = transactions.subList(0, size);
+        }
+        
+        response.put("data", transactions);
+        response.put("size", size);
+        response.put("hasNext", hasNext);
+        String nextCursor = null;
+        if (hasNext) {
+            TransactionRowDto last = transactions.get(transactions.size() - 1);
+            nextCursor = TransactionCursor.encode(last.getDate(), last.getId());
+        }
+        response.put("nextCursor", nextCursor);
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/top-expenses")
     public ResponseEntity<List<CategorySummaryDto>> getTopExpenseCategories(
-            @RequestParam(defaultValue = "5") int limit) {
+            @RequestParam(defaultValue = "5") int limit,
+            WebRequest request) {
         
-        List<CategorySummaryDto> topCategories = financialStatisticsService.getTopExpenseCategories(limit);
-        return ResponseEntity.ok(topCategories);
+        return cached(request, () -> financialStatisticsService.getTopExpenseCategories(limit), "top-expenses", limit);
     }
     
     @GetMapping("/average-monthly-expenses")
     public ResponseEntity<Map<String, Object>> getAverageMonthlyExpenses(
-            @RequestParam(defaultValue = "12") int months) {
-        
-        BigDecimal average = financialStatisticsService.getAverageMonthlyExpenses(months);
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("averageMonthlyExpenses", average);
-        response.put("period", months + " months");
+            @RequestParam(defaultValue = "12") int months,
+            WebRequest request) {
         
-        return ResponseEntity.ok(response);
+        return cached(request, () -> {
+            BigDecimal average = financialStatisticsService.getAverageMonthlyExpenses(months);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("averageMonthlyExpenses", average);
+            response.put("period", months + " months");
+            return response;
+        }, "average-monthly-expenses", months);
     }
     
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Object>> getQuickStats() {
+    public ResponseEntity<Map<String, Object>> getQuickStats(WebRequest request) {
         User currentUser = SecurityUtil.getCurrentUser();
-        Map<String, Object> stats = new HashMap<>();
-        
-        // Get current month and year summaries
-        FinancialSummaryDto currentMonth = financialStatisticsService.getCurrentMonthSummary();
-        FinancialSummaryDto currentYear = financialStatisticsService.getCurrentYearSummary();
-        
-        stats.put("currentMonth", Map.of(
-            "income", currentMonth.getTotalIncome(),
-            "expenses", currentMonth.getTotalExpenses(),
-            "net", currentMonth.getNetIncome(),
-            "transactions", currentMonth.getTotalTransactions()
-        ));
-        
-        stats.put("currentYear", Map.of(
-            "income", currentYear.getTotalIncome(),
-            "expenses", currentYear.getTotalExpenses(),
-            "net", currentYear.getNetIncome(),
-            "transactions", currentYear.getTotalTransactions()
-        ));
-        
-        // Get total transactions count for the user
-        long totalTransactions = transactionRepository.countByUser(currentUser);
-        stats.put("totalTransactions", totalTransactions);
-        
-        return ResponseEntity.ok(stats);
+        return cached(request, () -> financialStatisticsService.getQuickStatsForUser(currentUser), "stats");
     }
     
     @GetMapping("/budget-comparison")
-    public ResponseEntity<List<BudgetComparisonDto>> getBudgetComparison() {
-        List<BudgetComparisonDto> budgetComparison = financialStatisticsService.getBudgetComparison();
-        return ResponseEntity.ok(budgetComparison);
+    public ResponseEntity<List<BudgetComparisonDto>> getBudgetComparison(WebRequest request) {
+        return cached(request, financialStatisticsService::getBudgetComparison, "budget-comparison");
     }
     
     @GetMapping("/budget-comparison/period")
     public ResponseEntity<List<BudgetComparisonDto>> getBudgetComparisonForPeriod(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest request) {
         
-        List<BudgetComparisonDto> budgetComparison = financialStatisticsService.getBudgetComparisonForPeriod(startDate, endDate);
-        return ResponseEntity.ok(budgetComparison);
+        return cached(request, () -> financialStatisticsService.getBudgetComparisonForPeriod(startDate, endDate),
+            "budget-comparison/period", startDate, endDate);
     }
 
     @GetMapping("/expense-heatmap")
     public ResponseEntity<List<HeatmapDataDto>> getExpenseHeatmap(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        
-        List<HeatmapDataDto> heatmapData;
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest request) {
         
-        if (startDate != null && endDate != null) {
-            heatmapData = financialStatisticsService.getExpenseHeatmapData(startDate, endDate);
-        } else {
+        return cached(request, () -> {
+            if (startDate != null && endDate != null) {
+                return financialStatisticsService.getExpenseHeatmapData(startDate, endDate);
+            }
             // Default to last year
-            heatmapData = financialStatisticsService.getExpenseHeatmapDataLastYear();
+            return financialStatisticsService.getExpenseHeatmapDataLastYear();
+        }, "expense-heatmap", startDate, endDate);
+    }
+    
+    /**
+     * Income and expenses per day, week, month, quarter or year over a bounded window, with
+     * empty periods included as zero. Defaults to the last 12 months by month.
+     */
+    @GetMapping("/trends")
+    public ResponseEntity<?> getTrends(
+            @RequestParam(defaultValue = "month") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest request) {
+        
+        Map<String, Object> response = new HashMap<>();
+        TimeSeries.Granularity period;
+        try {
+            period = TimeSeries.Granularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", "Granularity must be one of day, week, month, quarter or year");
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.minusMonths(11).withDayOfMonth(1);
+        if (start.isAfter(end)) {
+            response.put("success", false);
+            response.put("message", "Start date must not be after end date");
+            return ResponseEntity.badRequest().body(response);
+        }
+        if (period.index(end) - period.index(start) >= TimeSeries.MAX_BUCKETS) {
+            response.put("success", false);
+            response.put("message", "Date range spans more than " + TimeSeries.MAX_BUCKETS + " periods");
+            return ResponseEntity.badRequest().body(response);
         }
         
-        return ResponseEntity.ok(heatmapData);
+        User currentUser = SecurityUtil.getCurrentUser();
+        return cached(request, () -> financialStatisticsService.getTrendsForUser(currentUser, period, start, end),
+            "trends", period, start, end);
+    }
+    
+    /**
+     * Conditional GET for a read-only dashboard endpoint. Answers 304 when the client's
+     * If-None-Match still matches (returning null, as the response is already complete);
+     * otherwise serves the result from the response cache, computing it on a miss.
+     */
+    private <T> ResponseEntity<T> cached(WebRequest request, Supplier<T> loader, String endpoint, Object... params) {
+        String etag = dashboardResponseCache.etag(SecurityUtil.getCurrentUser(), endpoint, params);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        // Private revalidation instead of Spring Security's default no-store, so browsers keep the ETag
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .eTag(etag)
+            .body(dashboardResponseCache.get(etag, loader));
     }
 }
@@ -1,7 +1,10 @@
 package com.finance.dashboard.controller;
 
-import com.finance.dashboard.model.Transaction;
-import com.finance.dashboard.service.ExcelProcessingService;
+import com.finance.dashboard.dto.ImportJobDto;
+import com.finance.dashboard.model.User;
+import com.finance.dashboard.service.ImportJob;
+import com.finance.dashboard.service.ImportJobService;
+import com.finance.dashboard.util.SecurityUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +16,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/upload")
@@ -20,10 +24,10 @@ public class FileUploadController {
     
     private static final Logger logger = LoggerFactory.getLogger(FileUploadController.class);
     
-    private final ExcelProcessingService excelProcessingService;
+    private final ImportJobService importJobService;
 
-    public FileUploadController(ExcelProcessingService excelProcessingService) {
-        this.excelProcessingService = excelProcessingService;
+    public FileUploadController(ImportJobService importJobService) {
+        this.importJobService = importJobService;
     }
     
     @PostMapping("/excel")
@@ -46,19 +50,23 @@ public class FileUploadController {
                 return ResponseEntity.badRequest().body(response);
             }
             
-            // Process the file
-            List<Transaction> transactions = excelProcessingService.processExcelFile(file);
+            // Queue the file for background processing; progress is polled via /jobs/{id}
+            User currentUser = SecurityUtil.getCurrentUser();
+            ImportJob job = importJobService.submit(file, currentUser);
             
             response.put("success", true);
-            response.put("message", "File uploaded and processed successfully");
-            response.put("transactionsProcessed", transactions.size());
-            response.put("transactions", transactions);
+            response.put("message", "File uploaded and queued for processing");
+            response.put("jobId", job.getId());
+            response.put("statusUrl", "/api/upload/jobs/" + job.getId());
             
-            logger.info("Successfully processed Excel file: {} with {} transactions", 
-                       filename, transactions.size());
+            logger.info("Accepted Excel file: {} as import job {}", filename, job.getId());
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
             
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
         } catch (Exception e) {
             logger.error("Error processing Excel file: {}", e.getMessage(), e);
             
@@ -69,13 +77,30 @@ public class FileUploadController {
         }
     }
     
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<Map<String, Object>> getImportJob(@PathVariable String id) {
+        Map<String, Object> response = new HashMap<>();
+        
+        User currentUser = SecurityUtil.getCurrentUser();
+        Optional<ImportJob> job = importJobService.getJob(id, currentUser);
+        if (job.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "Import job not found with ID: " + id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        
+        response.put("success", true);
+        response.put("job", ImportJobDto.from(job.get()));
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/sample-format")
     public ResponseEntity<Map<String, Object>> getSampleFormat() {
         Map<String, Object> response = new HashMap<>();
         
         // Provide information about expected Excel format
         Map<String, String> format = new HashMap<>();
-        format.put("Column A", "Date (YYYY-MM-DD or Excel date format)");
+        format.put("Column A", "Date (YYYY-MM-DD, DD.MM.YYYY, DD/MM/YYYY or Excel date format)");
         format.put("Column B", "Description (Transaction description)");
         format.put("Column C", "Amount (Positive for income, negative for expenses)");
         format.put("Column D", "Reference (Optional - transaction reference)");
@@ -84,7 +109,7 @@ public class FileUploadController {
         response.put("notes", List.of(
             "First row should contain headers",
             "Date should be in a recognizable format",
-            "Amount should be numeric (positive for income, negative for expenses)",
+            "Amount should be numeric (positive for income, negative for expenses); 1,234.56, 1.234,56, (12.00) and 12.00- are accepted",
             "Description will be used for automatic categorization"
         ));
         
@@ -1,19 +1,27 @@
 package com.finance.dashboard.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.finance.dashboard.model.Category;
 import com.finance.dashboard.model.Transaction;
 import com.finance.dashboard.model.TransactionType;
 import com.finance.dashboard.service.CategoryService;
+import com.finance.dashboard.service.TransactionExportService;
 import com.finance.dashboard.service.TransactionService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.HashMap;
@@ -29,11 +37,16 @@ public class TransactionController {
 
     private final TransactionService transactionService;
     private final CategoryService categoryService;
+    private final TransactionExportService transactionExportService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public TransactionController(TransactionService transactionService, CategoryService categoryService) {
+    public TransactionController(TransactionService transactionService, CategoryService categoryService,
+                                 TransactionExportService transactionExportService, ObjectMapper objectMapper) {
         this.transactionService = transactionService;
         this.categoryService = categoryService;
+        this.transactionExportService = transactionExportService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/{id}")
@@ -184,6 +197,47 @@ public class TransactionController {
         }
     }
 
+    /**
+     * Download the current user's transactions (newest first) as CSV or XLSX, optionally
+     * filtered by date range, type and category. The file is streamed while it is read.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) Long categoryId) {
+        
+        Long userId = SecurityUtil.getCurrentUser().getId();
+        String filename = "transactions-" + LocalDate.now();
+        StreamingResponseBody body;
+        MediaType contentType;
+        
+        if ("csv".equalsIgnoreCase(format)) {
+            contentType = new MediaType("text", "csv", StandardCharsets.UTF_8);
+            filename += ".csv";
+            body = out -> transactionExportService.writeCsv(userId, startDate, endDate, type, categoryId, out);
+        } else if ("xlsx".equalsIgnoreCase(format)) {
+            contentType = MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+            filename += ".xlsx";
+            body = out -> transactionExportService.writeXlsx(userId, startDate, endDate, type, categoryId, out);
+        } else {
+            // The handler's body type is fixed to StreamingResponseBody, so the error map is written through it
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Unsupported export format: " + format + ". Use csv or xlsx.");
+            return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writeValue(out, response));
+        }
+        
+        return ResponseEntity.ok()
+            .contentType(contentType)
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .body(body);
+    }
+
     // Helper methods for validation and conversion
     private Map<String, String> validateTransactionUpdate(TransactionUpdateRequest request) {
         Map<String, String> errors = new HashMap<>();
@@ -297,7 +351,7 @@ public class TransactionController {
         }
         
         if (request.getAmount() != null && !request.getAmount().trim().isEmpty()) {
-            transaction.setAmount(new BigDecimal(request.getAmount()));
+            transaction.setAmount(Transaction.roundAmount(new BigDecimal(request.getAmount())));
         }
         
         if (request.getType() != null && !request.getType().trim().isEmpty()) {
@@ -320,7 +374,7 @@ public class TransactionController {
         
         transaction.setDate(LocalDate.parse(request.getDate()));
         transaction.setDescription(request.getDescription().trim());
-        transaction.setAmount(new BigDecimal(request.getAmount()));
+        transaction.setAmount(Transaction.roundAmount(new BigDecimal(request.getAmount())));
         transaction.setType(TransactionType.valueOf(request.getType().toUpperCase()));
         transaction.setUser(currentUser);
 
@@ -0,0 +1,153 @@
+package com.finance.dashboard.dto;
+
+import com.finance.dashboard.service.ImportJob;
+import com.finance.dashboard.service.ImportProgress;
+
+import java.time.Instant;
+
+/**
+ * Status and row counts of an import job, returned by /api/upload/jobs/{id}.
+ */
+public class ImportJobDto {
+    
+    private String jobId;
+    private String filename;
+    private String status;
+    private long rowsParsed;
+    private long rowsSaved;
+    private long rowsSkipped;
+    private long rowsFailed;
+    private long rowsDuplicate;
+    private double rowsPerSecond;
+    private long elapsedMs;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String errorMessage;
+    
+    // Constructors
+    public ImportJobDto() {}
+    
+    public static ImportJobDto from(ImportJob job) {
+        ImportProgress progress = job.getProgress();
+        ImportJobDto dto = new ImportJobDto();
+        dto.jobId = job.getId();
+        dto.filename = job.getFilename();
+        dto.status = job.getStatus().name();
+        dto.rowsParsed = progress.getRowsParsed();
+        dto.rowsSaved = progress.getRowsSaved();
+        dto.rowsSkipped = progress.getRowsSkipped();
+        dto.rowsFailed = progress.getRowsFailed();
+        dto.rowsDuplicate = progress.getRowsDuplicate();
+        dto.rowsPerSecond = Math.round(job.getRowsPerSecond() * 10.0) / 10.0;
+        dto.elapsedMs = job.getElapsed().toMillis();
+        dto.startedAt = job.getStartedAt();
+        dto.finishedAt = job.getFinishedAt();
+        dto.errorMessage = job.getErrorMessage();
+        return dto;
+    }
+    
+    // Getters and Setters
+    public String getJobId() {
+        return jobId;
+    }
+    
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+    
+    public String getFilename() {
+        return filename;
+    }
+    
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public long getRowsParsed() {
+        return rowsParsed;
+    }
+    
+    public void setRowsParsed(long rowsParsed) {
+        this.rowsParsed = rowsParsed;
+    }
+    
+    public long getRowsSaved() {
+        return rowsSaved;
+    }
+    
+    public void setRowsSaved(long rowsSaved) {
+        this.rowsSaved = rowsSaved;
+    }
+    
+    public long getRowsSkipped() {
+        return rowsSkipped;
+    }
+    
+    public void setRowsSkipped(long rowsSkipped) {
+        this.rowsSkipped = rowsSkipped;
+    }
+    
+    public long getRowsFailed() {
+        return rowsFailed;
+    }
+    
+    public void setRowsFailed(long rowsFailed) {
+        this.rowsFailed = rowsFailed;
+    }
+    
+    public long getRowsDuplicate() {
+        return rowsDuplicate;
+    }
+    
+    public void setRowsDuplicate(long rowsDuplicate) {
+        this.rowsDuplicate = rowsDuplicate;
+    }
+    
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+    
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+    
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+    
+    public void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+    
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+    
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+    
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
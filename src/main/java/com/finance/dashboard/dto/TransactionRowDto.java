@@ -0,0 +1,111 @@
+package com.finance.dashboard.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.finance.dashboard.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Flat, read-only view of a transaction with its category's id, name and color, built
+ * directly by JPQL constructor expressions so no entities (or their categories) are loaded.
+ * Serializes like a {@code Transaction}, with {@code category} reduced to those three fields.
+ */
+public class TransactionRowDto {
+    
+    private final Long id;
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private final LocalDate date;
+    private final String description;
+    private final BigDecimal amount;
+    private final TransactionType type;
+    private final String reference;
+    private final Long categoryId;
+    private final String categoryName;
+    private final String categoryColor;
+    
+    public TransactionRowDto(Long id, LocalDate date, String description, BigDecimal amount, TransactionType type,
+                             String reference, Long categoryId, String categoryName, String categoryColor) {
+        this.id = id;
+        this.date = date;
+        this.description = description;
+        this.amount = amount;
+        this.type = type;
+        this.reference = reference;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.categoryColor = categoryColor;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public BigDecimal getAmount() {
+        return amount;
+    }
+    
+    public TransactionType getType() {
+        return type;
+    }
+    
+    public String getReference() {
+        return reference;
+    }
+    
+    /**
+     * The category as {@code {id, name, color}}, or {@code null} for an uncategorized transaction.
+     */
+    public CategoryRef getCategory() {
+        return categoryId != null ? new CategoryRef(categoryId, categoryName, categoryColor) : null;
+    }
+    
+    @JsonIgnore
+    public Long getCategoryId() {
+        return categoryId;
+    }
+    
+    @JsonIgnore
+    public String getCategoryName() {
+        return categoryName;
+    }
+    
+    @JsonIgnore
+    public String getCategoryColor() {
+        return categoryColor;
+    }
+    
+    public static class CategoryRef {
+        
+        private final Long id;
+        private final String name;
+        private final String color;
+        
+        public CategoryRef(Long id, String name, String color) {
+            this.id = id;
+            this.name = name;
+            this.color = color;
+        }
+        
+        public Long getId() {
+            return id;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public String getColor() {
+            return color;
+        }
+    }
+}
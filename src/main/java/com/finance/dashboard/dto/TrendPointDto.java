@@ -0,0 +1,58 @@
+package com.finance.dashboard.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Income and expenses of one period of a trend series.
+ */
+public class TrendPointDto {
+    
+    private LocalDate periodStart;
+    private BigDecimal income;
+    private BigDecimal expenses;
+    private BigDecimal netAmount;
+    
+    // Constructors
+    public TrendPointDto() {}
+    
+    public TrendPointDto(LocalDate periodStart, BigDecimal income, BigDecimal expenses) {
+        this.periodStart = periodStart;
+        this.income = income;
+        this.expenses = expenses;
+        this.netAmount = income.subtract(expenses.abs());
+    }
+    
+    // Getters and Setters
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+    
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+    
+    public BigDecimal getIncome() {
+        return income;
+    }
+    
+    public void setIncome(BigDecimal income) {
+        this.income = income;
+    }
+    
+    public BigDecimal getExpenses() {
+        return expenses;
+    }
+    
+    public void setExpenses(BigDecimal expenses) {
+        this.expenses = expenses;
+    }
+    
+    public BigDecimal getNetAmount() {
+        return netAmount;
+    }
+    
+    public void setNetAmount(BigDecimal netAmount) {
+        this.netAmount = netAmount;
+    }
+}
@@ -0,0 +1,31 @@
+package com.finance.dashboard.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Transaction totals for one calendar month; {@code periodStart} is the first day of the month.
+ */
+@Entity
+@Table(name = "transaction_monthly_rollups",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "category_id", "type", "period_start"}),
+       indexes = @Index(name = "idx_monthly_rollups_user_period", columnList = "user_id, period_start"))
+public class MonthlyTransactionRollup extends TransactionRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_monthly_rollups_seq")
+    @SequenceGenerator(name = "transaction_monthly_rollups_seq", sequenceName = "transaction_monthly_rollups_seq", allocationSize = 50)
+    private Long id;
+    
+    public MonthlyTransactionRollup() {}
+    
+    public MonthlyTransactionRollup(Long userId, Long categoryId, TransactionType type, LocalDate periodStart) {
+        super(userId, categoryId, type, periodStart);
+    }
+    
+    @Override
+    public Long getId() {
+        return id;
+    }
+}
@@ -3,16 +3,28 @@ package com.finance.dashboard.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 
 @Entity
 @Table(name = "transactions")
 public class Transaction {
     
+    // Pooled sequence so Hibernate can assign ids up front and batch the inserts
+    // (IDENTITY forces one round trip per row). Allocation size matches hibernate.jdbc.batch_size.
+    public static final String ID_SEQUENCE = "transactions_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
+    // Scale of the amount column. Amounts are rounded to it before they are fingerprinted or
+    // added to the rollups, so the rollups add exactly what the database stores.
+    public static final int AMOUNT_SCALE = 2;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @NotNull
@@ -24,13 +36,13 @@ public class Transaction {
     private String description;
     
     @NotNull
-    @Column(precision = 15, scale = 2)
+    @Column(precision = 15, scale = AMOUNT_SCALE)
     private BigDecimal amount;
     
     @Enumerated(EnumType.STRING)
     private TransactionType type;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
     
@@ -40,6 +52,15 @@ public class Transaction {
     
     private String reference;
     
+    // Content hash of imported rows (see TransactionFingerprint); null for manually entered transactions
+    @JsonIgnore
+    private Long fingerprint;
+    
+    // Copy of the values as last loaded from or saved to the database, so the rollups can take
+    // out the old contribution when the transaction is updated or deleted
+    @Transient
+    private Transaction persistedState;
+    
     // Constructors
     public Transaction() {}
     
@@ -83,6 +104,13 @@ public class Transaction {
         this.amount = amount;
     }
     
+    /**
+     * Round an amount parsed from user input to the scale of the amount column.
+     */
+    public static BigDecimal roundAmount(BigDecimal amount) {
+        return amount.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP);
+    }
+    
     public TransactionType getType() {
         return type;
     }
@@ -115,6 +143,32 @@ public class Transaction {
         this.user = user;
     }
     
+    public Long getFingerprint() {
+        return fingerprint;
+    }
+    
+    public void setFingerprint(Long fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+    
+    /**
+     * The values last loaded from or saved to the database, or {@code null} for a new transaction.
+     */
+    @JsonIgnore
+    public Transaction getPersistedState() {
+        return persistedState;
+    }
+    
+    @PostLoad
+    public void capturePersistedState() {
+        Transaction state = new Transaction(date, description, amount, type);
+        state.setId(id);
+        state.setCategory(category);
+        state.setUser(user);
+        state.setReference(reference);
+        this.persistedState = state;
+    }
+    
     @Override
     public String toString() {
         return "Transaction{" +
@@ -123,7 +177,8 @@ public class Transaction {
                 ", description='" + description + '\'' +
                 ", amount=" + amount +
                 ", type=" + type +
-                ", category=" + (category != null ? category.getName() : "null") +
+                // The id is read from the lazy proxy without loading it, so logging never queries
+                ", categoryId=" + (category != null ? category.getId() : null) +
                 '}';
     }
 }
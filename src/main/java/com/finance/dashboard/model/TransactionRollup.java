@@ -0,0 +1,80 @@
+package com.finance.dashboard.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.MappedSuperclass;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated total and count of a user's transactions for one category, type and period.
+ * Kept up to date incrementally by {@link com.finance.dashboard.service.TransactionRollupService}
+ * so the dashboard statistics do not have to scan the transactions table.
+ */
+@MappedSuperclass
+public abstract class TransactionRollup {
+    
+    // Stored instead of NULL for transactions without a category, so the key columns can be unique
+    public static final long NO_CATEGORY = 0L;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+    
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+    
+    @Column(name = "total_amount", precision = 19, scale = 2, nullable = false)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+    
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+    
+    protected TransactionRollup() {}
+    
+    protected TransactionRollup(Long userId, Long categoryId, TransactionType type, LocalDate periodStart) {
+        this.userId = userId;
+        this.categoryId = categoryId;
+        this.type = type;
+        this.periodStart = periodStart;
+    }
+    
+    public void add(BigDecimal amount, long count) {
+        this.totalAmount = this.totalAmount.add(amount);
+        this.transactionCount += count;
+    }
+    
+    public abstract Long getId();
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public Long getCategoryId() {
+        return categoryId;
+    }
+    
+    public TransactionType getType() {
+        return type;
+    }
+    
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+    
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+}
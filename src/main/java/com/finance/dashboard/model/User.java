@@ -68,6 +68,12 @@ public class User implements UserDetails {
     
     private LocalDateTime lastLoginAt;
     
+    // Bumped on every write to the user's transactions, categories or budgets (see DataVersionService).
+    // Only changed through bulk updates, so saving a stale User instance cannot move it backwards.
+    @JsonIgnore
+    @Column(name = "data_version", insertable = false, updatable = false)
+    private Long dataVersion;
+    
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     @JsonIgnore
     private List<Transaction> transactions = new ArrayList<>();
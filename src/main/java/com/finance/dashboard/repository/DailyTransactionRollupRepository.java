@@ -0,0 +1,22 @@
+package com.finance.dashboard.repository;
+
+import com.finance.dashboard.model.DailyTransactionRollup;
+import com.finance.dashboard.model.TransactionType;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyTransactionRollupRepository extends TransactionRollupRepository<DailyTransactionRollup> {
+    
+    // Returns category name, day, totalAmount for categorized rows of one type in [startDate, endDate]
+    @Query("SELECT c.name, r.periodStart, r.totalAmount FROM DailyTransactionRollup r " +
+           "JOIN Category c ON c.id = r.categoryId " +
+           "WHERE r.userId = :userId AND r.type = :type AND r.periodStart BETWEEN :startDate AND :endDate")
+    List<Object[]> findCategoryDaysByType(@Param("userId") Long userId, @Param("type") TransactionType type,
+                                          @Param("startDate") LocalDate startDate,
+                                          @Param("endDate") LocalDate endDate);
+}
@@ -0,0 +1,23 @@
+package com.finance.dashboard.repository;
+
+import com.finance.dashboard.model.MonthlyTransactionRollup;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MonthlyTransactionRollupRepository extends TransactionRollupRepository<MonthlyTransactionRollup> {
+    
+    // Returns periodStart (first day of the month), type, SUM(totalAmount)
+    @Query("SELECT r.periodStart, r.type, SUM(r.totalAmount) FROM MonthlyTransactionRollup r " +
+           "WHERE r.userId = :userId GROUP BY r.periodStart, r.type ORDER BY r.periodStart")
+    List<Object[]> findMonthlyTotalsByUser(@Param("userId") Long userId);
+    
+    // Returns periodStart, categoryId, category name (null when uncategorized), type, totalAmount, transactionCount
+    @Query("SELECT r.periodStart, r.categoryId, c.name, r.type, r.totalAmount, r.transactionCount " +
+           "FROM MonthlyTransactionRollup r LEFT JOIN Category c ON c.id = r.categoryId " +
+           "WHERE r.userId = :userId")
+    List<Object[]> findAllByUserWithCategoryName(@Param("userId") Long userId);
+}
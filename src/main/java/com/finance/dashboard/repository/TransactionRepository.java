@@ -1,18 +1,27 @@
 package com.finance.dashboard.repository;
 
+import com.finance.dashboard.dto.TransactionRowDto;
 import com.finance.dashboard.model.Transaction;
 import com.finance.dashboard.model.TransactionType;
 import com.finance.dashboard.model.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
@@ -24,6 +33,55 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     
     Page<Transaction> findByUserAndDateBetween(User user, LocalDate startDate, LocalDate endDate, Pageable pageable);
     
+    // Read-only list rows: one query per page (plus the COUNT for a Page), no category fetches.
+    // ROW_SELECT is the shared select list; sort properties from a Pageable apply to alias t
+    String ROW_SELECT = "SELECT new com.finance.dashboard.dto.TransactionRowDto(t.id, t.date, t.description, t.amount, " +
+                        "t.type, t.reference, c.id, c.name, c.color) FROM Transaction t LEFT JOIN t.category c ";
+    
+    @Query(value = ROW_SELECT + "WHERE t.user.id = :userId",
+           countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId")
+    Page<TransactionRowDto> findRowsByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query(value = ROW_SELECT + "WHERE t.user.id = :userId AND t.date BETWEEN :startDate AND :endDate",
+           countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId AND t.date BETWEEN :startDate AND :endDate")
+    Page<TransactionRowDto> findRowsByUserIdAndDateBetween(@Param("userId") Long userId,
+                                                           @Param("startDate") LocalDate startDate,
+                                                           @Param("endDate") LocalDate endDate, Pageable pageable);
+    
+    // Offset pages without the COUNT query
+    @Query(ROW_SELECT + "WHERE t.user.id = :userId")
+    Slice<TransactionRowDto> findRowSliceByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query(ROW_SELECT + "WHERE t.user.id = :userId AND t.date BETWEEN :startDate AND :endDate")
+    Slice<TransactionRowDto> findRowSliceByUserIdAndDateBetween(@Param("userId") Long userId,
+                                                                @Param("startDate") LocalDate startDate,
+                                                                @Param("endDate") LocalDate endDate, Pageable pageable);
+    
+    // Keyset (seek) pagination ordered by date DESC, id DESC; pass PageRequest.of(0, limit)
+    @Query(ROW_SELECT + "WHERE t.user.id = :userId ORDER BY t.date DESC, t.id DESC")
+    List<TransactionRowDto> findFirstRowsByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query(ROW_SELECT + "WHERE t.user.id = :userId AND t.date BETWEEN :startDate AND :endDate " +
+           "ORDER BY t.date DESC, t.id DESC")
+    List<TransactionRowDto> findFirstRowsByUserIdAndDateBetween(@Param("userId") Long userId,
+                                                                @Param("startDate") LocalDate startDate,
+                                                                @Param("endDate") LocalDate endDate, Pageable pageable);
+    
+    @Query(ROW_SELECT + "WHERE t.user.id = :userId " +
+           "AND (t.date < :date OR (t.date = :date AND t.id < :id)) " +
+           "ORDER BY t.date DESC, t.id DESC")
+    List<TransactionRowDto> findRowsByUserIdBefore(@Param("userId") Long userId, @Param("date") LocalDate date,
+                                                   @Param("id") Long id, Pageable pageable);
+    
+    @Query(ROW_SELECT + "WHERE t.user.id = :userId AND t.date BETWEEN :startDate AND :endDate " +
+           "AND (t.date < :date OR (t.date = :date AND t.id < :id)) " +
+           "ORDER BY t.date DESC, t.id DESC")
+    List<TransactionRowDto> findRowsByUserIdAndDateBetweenBefore(@Param("userId") Long userId,
+                                                                 @Param("startDate") LocalDate startDate,
+                                                                 @Param("endDate") LocalDate endDate,
+                                                                 @Param("date") LocalDate date,
+                                                                 @Param("id") Long id, Pageable pageable);
+    
     List<Transaction> findByUserAndType(User user, TransactionType type);
     
     List<Transaction> findByUserAndDateBetweenAndType(User user, LocalDate startDate, LocalDate endDate, TransactionType type);
@@ -53,14 +111,35 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     Long countTransactionsByUserAndBetweenDates(@Param("user") User user, @Param("startDate") LocalDate startDate, 
                                       @Param("endDate") LocalDate endDate);
     
-    @Query(value = "SELECT c.name, EXTRACT(DOW FROM t.date), SUM(t.amount) FROM transactions t " +
-           "JOIN categories c ON c.id = t.category_id " +
-           "WHERE t.user_id = :userId AND t.type = :type AND t.date BETWEEN :startDate AND :endDate " +
-           "GROUP BY c.name, EXTRACT(DOW FROM t.date) " +
-           "ORDER BY c.name, EXTRACT(DOW FROM t.date)", nativeQuery = true)
-    List<Object[]> findExpenseHeatmapDataByUser(@Param("userId") Long userId, @Param("type") String type,
-                                         @Param("startDate") LocalDate startDate,
-                                         @Param("endDate") LocalDate endDate);
+    // Bulk probe for import deduplication: which of these fingerprints the user already has
+    @Query("SELECT t.fingerprint FROM Transaction t WHERE t.user.id = :userId AND t.fingerprint IN :fingerprints")
+    List<Long> findExistingFingerprints(@Param("userId") Long userId, @Param("fingerprints") Collection<Long> fingerprints);
+    
+    // Users whose rollups have to be built from their transactions
+    @Query("SELECT DISTINCT t.user.id FROM Transaction t WHERE NOT EXISTS " +
+           "(SELECT 1 FROM DailyTransactionRollup r WHERE r.userId = t.user.id)")
+    List<Long> findUserIdsWithoutRollups();
+    
+    @Query("SELECT t.date, c.id, t.type, SUM(t.amount), COUNT(t) FROM Transaction t LEFT JOIN t.category c " +
+           "WHERE t.user.id = :userId GROUP BY t.date, c.id, t.type")
+    List<Object[]> findDailyTotalsByUserId(@Param("userId") Long userId);
+    
+    // Forward-only export cursor; null filters are ignored. Must be consumed (and closed) inside a transaction.
+    // The date checks cast the parameter: PostgreSQL cannot infer the type of a null date in "? IS NULL"
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query(ROW_SELECT + "WHERE t.user.id = :userId " +
+           "AND (CAST(:startDate AS LocalDate) IS NULL OR t.date >= :startDate) " +
+           "AND (CAST(:endDate AS LocalDate) IS NULL OR t.date <= :endDate) " +
+           "AND (:type IS NULL OR t.type = :type) AND (:categoryId IS NULL OR c.id = :categoryId) " +
+           "ORDER BY t.date DESC, t.id DESC")
+    Stream<TransactionRowDto> streamRowsForExport(@Param("userId") Long userId,
+                                                  @Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate,
+                                                  @Param("type") TransactionType type,
+                                                  @Param("categoryId") Long categoryId);
     
     // Keep original methods for backward compatibility and system-wide queries
     Page<Transaction> findByDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
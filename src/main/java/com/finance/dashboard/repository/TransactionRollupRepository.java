@@ -0,0 +1,56 @@
+package com.finance.dashboard.repository;
+
+import com.finance.dashboard.model.TransactionRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Queries shared by the daily and monthly rollup tables.
+ */
+@NoRepositoryBean
+public interface TransactionRollupRepository<R extends TransactionRollup> extends JpaRepository<R, Long> {
+    
+    List<R> findByUserIdAndPeriodStartBetween(Long userId, LocalDate startPeriod, LocalDate endPeriod);
+    
+    // Returns categoryId, category name (null when uncategorized), type, SUM(totalAmount), SUM(transactionCount)
+    // over rows in either of two period ranges, so both partial months of a range take one query
+    @Query("SELECT r.categoryId, c.name, r.type, SUM(r.totalAmount), SUM(r.transactionCount) FROM #{#entityName} r " +
+           "LEFT JOIN Category c ON c.id = r.categoryId " +
+           "WHERE r.userId = :userId " +
+           "AND (r.periodStart BETWEEN :startPeriod AND :endPeriod OR r.periodStart BETWEEN :otherStartPeriod AND :otherEndPeriod) " +
+           "GROUP BY r.categoryId, c.name, r.type")
+    List<Object[]> sumByCategoryAndType(@Param("userId") Long userId,
+                                        @Param("startPeriod") LocalDate startPeriod,
+                                        @Param("endPeriod") LocalDate endPeriod,
+                                        @Param("otherStartPeriod") LocalDate otherStartPeriod,
+                                        @Param("otherEndPeriod") LocalDate otherEndPeriod);
+    
+    default List<Object[]> sumByCategoryAndType(Long userId, LocalDate startPeriod, LocalDate endPeriod) {
+        return sumByCategoryAndType(userId, startPeriod, endPeriod, startPeriod, endPeriod);
+    }
+    
+    // Returns periodStart, type, SUM(totalAmount) over rows in either of two period ranges
+    @Query("SELECT r.periodStart, r.type, SUM(r.totalAmount) FROM #{#entityName} r " +
+           "WHERE r.userId = :userId " +
+           "AND (r.periodStart BETWEEN :startPeriod AND :endPeriod OR r.periodStart BETWEEN :otherStartPeriod AND :otherEndPeriod) " +
+           "GROUP BY r.periodStart, r.type")
+    List<Object[]> sumByPeriodAndType(@Param("userId") Long userId,
+                                      @Param("startPeriod") LocalDate startPeriod,
+                                      @Param("endPeriod") LocalDate endPeriod,
+                                      @Param("otherStartPeriod") LocalDate otherStartPeriod,
+                                      @Param("otherEndPeriod") LocalDate otherEndPeriod);
+    
+    default List<Object[]> sumByPeriodAndType(Long userId, LocalDate startPeriod, LocalDate endPeriod) {
+        return sumByPeriodAndType(userId, startPeriod, endPeriod, startPeriod, endPeriod);
+    }
+    
+    @Modifying
+    @Query("DELETE FROM #{#entityName} r WHERE r.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+}
@@ -23,6 +23,16 @@ public interface UserCategoryBudgetRepository extends JpaRepository<UserCategory
     @Query("SELECT ucb FROM UserCategoryBudget ucb WHERE ucb.user = :user AND ucb.category.id IN :categoryIds")
     List<UserCategoryBudget> findByUserAndCategoryIds(@Param("user") User user, @Param("categoryIds") List<Long> categoryIds);
     
+    /**
+     * (category id, effective monthly budget) for every category available to the user: the
+     * user's override for system categories, the category's own budget for the user's categories.
+     * The budget is null when a system category has no override.
+     */
+    @Query("SELECT c.id, CASE WHEN c.user IS NULL THEN ucb.monthlyBudget ELSE c.monthlyBudget END " +
+           "FROM Category c LEFT JOIN UserCategoryBudget ucb ON ucb.category = c AND ucb.user.id = :userId " +
+           "WHERE c.user IS NULL OR c.user.id = :userId")
+    List<Object[]> findEffectiveBudgetsByUserId(@Param("userId") Long userId);
+    
     boolean existsByUserAndCategory(User user, Category category);
     
     void deleteByUserAndCategory(User user, Category category);
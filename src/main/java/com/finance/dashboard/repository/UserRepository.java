@@ -1,7 +1,9 @@
 package com.finance.dashboard.repository;
 
 import com.finance.dashboard.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -22,6 +24,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("UPDATE User u SET u.lastLoginAt = :lastLogin WHERE u.id = :userId")
     void updateLastLogin(@Param("userId") Long userId, @Param("lastLogin") LocalDateTime lastLogin);
     
+    // Row lock used to serialize concurrent rollup updates for one user
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :userId")
+    Optional<User> findByIdForUpdate(@Param("userId") Long userId);
+    
+    @Query("SELECT u.dataVersion FROM User u WHERE u.id = :userId")
+    Long findDataVersionById(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.dataVersion = COALESCE(u.dataVersion, 0) + 1 WHERE u.id = :userId")
+    int incrementDataVersion(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.dataVersion = COALESCE(u.dataVersion, 0) + 1")
+    int incrementAllDataVersions();
+    
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = 'ADMIN'")
     long countAdmins();
   
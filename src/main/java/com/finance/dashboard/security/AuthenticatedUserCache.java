@@ -0,0 +1,82 @@
+package com.finance.dashboard.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded, time-limited cache of the principals loaded by {@link JwtAuthenticationFilter},
+ * keyed by username (the token subject), so authenticated requests do not query the users
+ * table every time. Entries are dropped when the user is saved through
+ * {@link com.finance.dashboard.service.UserService} and expire after the TTL in any case.
+ */
+@Component
+public class AuthenticatedUserCache {
+    
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxSize;
+    
+    public AuthenticatedUserCache(@Value("${app.security.principal-cache.ttl-seconds:60}") long ttlSeconds,
+                                  @Value("${app.security.principal-cache.max-size:10000}") int maxSize) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxSize = maxSize;
+    }
+    
+    public UserDetails get(String username) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.loadedAt > ttlNanos) {
+            entries.remove(username, entry);
+            return null;
+        }
+        return entry.userDetails;
+    }
+    
+    public void put(String username, UserDetails userDetails) {
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(username, new Entry(userDetails, System.nanoTime()));
+    }
+    
+    public void invalidate(String username) {
+        if (username != null) {
+            entries.remove(username);
+        }
+    }
+    
+    public void clear() {
+        entries.clear();
+    }
+    
+    /**
+     * Drop expired entries; if the cache is still full, drop arbitrary ones to make room.
+     */
+    private void evict() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> now - entry.loadedAt > ttlNanos);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+    
+    private static final class Entry {
+        private final UserDetails userDetails;
+        private final long loadedAt;
+        
+        Entry(UserDetails userDetails, long loadedAt) {
+            this.userDetails = userDetails;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
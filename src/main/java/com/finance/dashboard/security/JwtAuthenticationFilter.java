@@ -1,5 +1,9 @@
 package com.finance.dashboard.security;
 
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,74 +16,116 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * The application's only authentication filter: reads the bearer token, verifies it with
+ * {@link JwtUtil} and sets the authenticated user on the security context.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
     
+    private static final String BEARER_PREFIX = "Bearer ";
+    
+    // Public endpoints that never read the authentication (/api/auth/me does, so it is not listed)
+    private static final RequestMatcher PUBLIC_ENDPOINTS = new OrRequestMatcher(
+        new AntPathRequestMatcher("/api/auth/login"),
+        new AntPathRequestMatcher("/api/auth/register"),
+        new AntPathRequestMatcher("/h2-console/**"),
+        new AntPathRequestMatcher("/actuator/health")
+    );
+    
+    private final WebAuthenticationDetailsSource authenticationDetailsSource = new WebAuthenticationDetailsSource();
+    
     @Autowired
     private UserDetailsService userDetailsService;
     
     @Autowired
     private JwtUtil jwtUtil;
     
+    @Autowired
+    private AuthenticatedUserCache authenticatedUserCache;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // Time spent authenticating a bearer token, by outcome (excludes the rest of the request)
+    private Timer authenticatedTimer;
+    private Timer rejectedTimer;
+    
+    @PostConstruct
+    void registerMetrics() {
+        authenticatedTimer = authTimer("authenticated");
+        rejectedTimer = authTimer("rejected");
+    }
+    
+    private Timer authTimer(String outcome) {
+        return Timer.builder("finance.auth.filter")
+            .description("Bearer token authentication in the JWT filter")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // CORS preflight requests carry no credentials
+        return "OPTIONS".equals(request.getMethod()) || PUBLIC_ENDPOINTS.matches(request);
+    }
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) 
             throws ServletException, IOException {
         
         final String requestTokenHeader = request.getHeader("Authorization");
         
-        String username = null;
-        String jwtToken = null;
-        
         // JWT Token is in the form "Bearer token". Remove Bearer word and get only the Token
-        if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
-            try {
-                username = jwtUtil.getUsernameFromToken(jwtToken);
-                logger.debug("Extracted username from JWT: {}", username);
-            } catch (Exception e) {
-                logger.error("Unable to get JWT Token or JWT Token has expired", e);
-            }
-        } else {
-            logger.debug("JWT Token does not begin with Bearer String. Header: {}", requestTokenHeader);
+        if (requestTokenHeader == null || !requestTokenHeader.startsWith(BEARER_PREFIX)
+                || SecurityContextHolder.getContext().getAuthentication() != null) {
+            filterChain.doFilter(request, response);
+            return;
         }
-
-        // Once we get the token validate it
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            logger.debug("Username from token: {}. Proceeding to load user.", username);
-            UserDetails userDetails = null;
-            try {
-                userDetails = this.userDetailsService.loadUserByUsername(username);
-            } catch (Exception e) {
-                logger.error("UserDetailsService failed to load user: {}", username, e);
-            }
-
+        
+        long start = System.nanoTime();
+        String username = null;
+        try {
+            // Parsing verifies the signature and expiry, so the token is not validated again below
+            username = jwtUtil.parseToken(requestTokenHeader.substring(BEARER_PREFIX.length())).getSubject();
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.warn("Rejected JWT token: {}", e.getMessage());
+        }
+        
+        if (username != null) {
+            UserDetails userDetails = authenticatedUserCache.get(username);
             if (userDetails == null) {
-                logger.warn("UserDetails is null for username: {}", username);
-            } else {
-                // if token is valid configure Spring Security to manually set authentication
-                boolean valid = jwtUtil.validateToken(jwtToken, userDetails);
-                logger.debug("Token validation for user {}: {}", username, valid);
-                if (valid) {
-                    UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = 
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                    usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
-                } else {
-                    logger.warn("JWT token is invalid for user: {}", username);
+                try {
+                    userDetails = this.userDetailsService.loadUserByUsername(username);
+                    authenticatedUserCache.put(username, userDetails);
+                } catch (Exception e) {
+                    logger.error("UserDetailsService failed to load user: {}", username, e);
                 }
             }
-        } else if (username == null) {
-            logger.warn("Username extracted from JWT is null. Token: {}", jwtToken);
-        } else if (SecurityContextHolder.getContext().getAuthentication() != null) {
-            logger.debug("SecurityContext already has authentication for user: {}", username);
+            
+            // The subject must name the user itself (the lookup also matches by email)
+            if (userDetails != null && username.equals(userDetails.getUsername())) {
+                UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                authentication.setDetails(authenticationDetailsSource.buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            } else {
+                logger.warn("JWT token is invalid for user: {}", username);
+            }
         }
+        boolean authenticated = SecurityContextHolder.getContext().getAuthentication() != null;
+        (authenticated ? authenticatedTimer : rejectedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
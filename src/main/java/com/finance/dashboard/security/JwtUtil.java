@@ -20,11 +20,14 @@ public class JwtUtil {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
     
     private final SecretKey key;
+    // Built once; JwtParser is immutable and thread-safe
+    private final JwtParser jwtParser;
     private final int jwtExpirationMs;
     
     public JwtUtil(@Value("${app.jwt.secret:defaultSecretKeyThatIsAtLeast32CharactersLongForHS256}") String jwtSecret,
                    @Value("${app.jwt.expiration:86400000}") int jwtExpirationMs) {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
         this.jwtExpirationMs = jwtExpirationMs;
     }
     
@@ -59,12 +62,17 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
     
+    /**
+     * Verify the signature and expiry and return the claims, parsing the token only once.
+     *
+     * @throws JwtException if the token is invalid or expired
+     */
+    public Claims parseToken(String token) {
+        return getAllClaimsFromToken(token);
+    }
+    
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
     
     public Boolean isTokenExpired(String token) {
@@ -74,8 +82,9 @@ public class JwtUtil {
     
     public Boolean validateToken(String token, UserDetails userDetails) {
         try {
-            final String username = getUsernameFromToken(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+            // Parsing already rejects expired tokens
+            final Claims claims = getAllClaimsFromToken(token);
+            return claims.getSubject().equals(userDetails.getUsername());
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
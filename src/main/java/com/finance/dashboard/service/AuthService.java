@@ -5,7 +5,8 @@ import com.finance.dashboard.dto.LoginRequest;
 import com.finance.dashboard.dto.SignUpRequest;
 import com.finance.dashboard.model.User;
 import com.finance.dashboard.repository.UserRepository;
-import com.finance.dashboard.security.JwtUtils;
+import com.finance.dashboard.security.AuthenticatedUserCache;
+import com.finance.dashboard.security.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -30,7 +31,10 @@ public class AuthService {
     PasswordEncoder encoder;
 
     @Autowired
-    JwtUtils jwtUtils;
+    JwtUtil jwtUtil;
+
+    @Autowired
+    AuthenticatedUserCache authenticatedUserCache;
 
     @Transactional
     public JwtResponse authenticateUser(LoginRequest loginRequest) {
@@ -38,12 +42,12 @@ public class AuthService {
                 new UsernamePasswordAuthenticationToken(loginRequest.getUsernameOrEmail(), loginRequest.getPassword()));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = jwtUtils.generateJwtToken(authentication);
-
         User userDetails = (User) authentication.getPrincipal();
+        String jwt = jwtUtil.generateToken(userDetails);
         
         // Update last login
         userRepository.updateLastLogin(userDetails.getId(), LocalDateTime.now());
+        authenticatedUserCache.invalidate(userDetails.getUsername());
 
         return new JwtResponse(jwt,
                 userDetails.getId(),
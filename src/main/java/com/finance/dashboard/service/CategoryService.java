@@ -6,17 +6,26 @@ import com.finance.dashboard.model.UserCategoryBudget;
 import com.finance.dashboard.repository.CategoryRepository;
 import com.finance.dashboard.util.SecurityUtil;
 import com.finance.dashboard.dto.CategoryWithBudgetDto;
+import com.finance.dashboard.util.KeywordMatcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 import java.math.BigDecimal;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,13 +35,38 @@ public class CategoryService {
     
     private final CategoryRepository categoryRepository;
     private final UserCategoryBudgetService userCategoryBudgetService;
+    private final DataVersionService dataVersionService;
+    private final MeterRegistry meterRegistry;
     
     private Map<String, String> categoryKeywords;
+    private KeywordMatcher keywordMatcher;
     private Category defaultCategory;
+    
+    // Categorization snapshots keyed by user id (SYSTEM_SNAPSHOT_KEY when there is no user),
+    // so categorizing a batch of rows does not query the database per row. Bounded in size and
+    // age, like AuthenticatedUserCache, so it does not grow with every user who ever imported.
+    // Each entry is the snapshot's load, so concurrent callers share one query without the
+    // query running under the map's lock.
+    private static final long SYSTEM_SNAPSHOT_KEY = -1L;
+    private final Map<Long, CompletableFuture<CategorySnapshot>> categorySnapshots = new ConcurrentHashMap<>();
+    private final long snapshotTtlNanos;
+    private final int snapshotCacheMaxSize;
+    
+    // Categorization outcomes: one counter per keyword (indexed like the matcher), and one for
+    // descriptions that fell back to the default category
+    private Counter[] keywordHits;
+    private Counter defaultHits;
 
-    public CategoryService(CategoryRepository categoryRepository, UserCategoryBudgetService userCategoryBudgetService) {
+    public CategoryService(CategoryRepository categoryRepository, UserCategoryBudgetService userCategoryBudgetService,
+                           DataVersionService dataVersionService, MeterRegistry meterRegistry,
+                           @Value("${app.categories.snapshot-cache.ttl-seconds:300}") long snapshotTtlSeconds,
+                           @Value("${app.categories.snapshot-cache.max-size:1000}") int snapshotCacheMaxSize) {
         this.categoryRepository = categoryRepository;
         this.userCategoryBudgetService = userCategoryBudgetService;
+        this.dataVersionService = dataVersionService;
+        this.meterRegistry = meterRegistry;
+        this.snapshotTtlNanos = TimeUnit.SECONDS.toNanos(snapshotTtlSeconds);
+        this.snapshotCacheMaxSize = snapshotCacheMaxSize;
     }
     
     @PostConstruct
@@ -163,30 +197,123 @@ public class CategoryService {
         categoryKeywords.put("atm", "Transfer");
         categoryKeywords.put("withdrawal", "Transfer");
         categoryKeywords.put("deposit", "Transfer");
+        
+        // Compile once so each description is scanned in a single pass
+        keywordMatcher = KeywordMatcher.compile(categoryKeywords);
+        
+        keywordHits = new Counter[keywordMatcher.size()];
+        for (int i = 0; i < keywordHits.length; i++) {
+            keywordHits[i] = categorizationCounter(keywordMatcher.keyword(i), keywordMatcher.value(i));
+        }
+        defaultHits = categorizationCounter("none", "default");
+    }
+    
+    private Counter categorizationCounter(String keyword, String category) {
+        return Counter.builder("finance.categorization")
+            .description("Categorized transactions by matching keyword and category")
+            .tag("keyword", keyword)
+            .tag("category", category)
+            .register(meterRegistry);
     }
     
     public Category categorizeTransaction(String description, User user) {
+        CategorySnapshot snapshot = getCategorySnapshot(user);
         if (description == null || description.trim().isEmpty()) {
-            return getDefaultCategoryForUser(user);
+            defaultHits.increment();
+            return snapshot.defaultCategory;
         }
         
-        String lowerDescription = description.toLowerCase();
-        
-        // Check for keyword matches in available categories for the user
-        List<Category> availableCategories = getAvailableCategoriesForUser(user);
+        // Check for keyword matches in available categories for the user.
+        // The longest matching keyword wins, so e.g. "bank interest" beats "interest".
+        int keyword = keywordMatcher.findBestIndex(description, snapshot.byName::containsKey);
+        if (keyword >= 0) {
+            keywordHits[keyword].increment();
+            return snapshot.byName.get(keywordMatcher.value(keyword));
+        }
         
-        for (Map.Entry<String, String> entry : categoryKeywords.entrySet()) {
-            if (lowerDescription.contains(entry.getKey())) {
-                Optional<Category> category = availableCategories.stream()
-                    .filter(c -> c.getName().equals(entry.getValue()))
-                    .findFirst();
-                if (category.isPresent()) {
-                    return category.get();
-                }
+        defaultHits.increment();
+        return snapshot.defaultCategory;
+    }
+    
+    private CategorySnapshot getCategorySnapshot(User user) {
+        long key = user != null ? user.getId() : SYSTEM_SNAPSHOT_KEY;
+        CompletableFuture<CategorySnapshot> cached = categorySnapshots.get(key);
+        if (cached != null && !isStale(cached, System.nanoTime())) {
+            return await(cached);
+        }
+        if (categorySnapshots.size() >= snapshotCacheMaxSize) {
+            evictSnapshots();
+        }
+        // Only the swap happens under the map's lock; the winner loads, the parse workers of
+        // the same import wait for its result instead of querying again
+        CompletableFuture<CategorySnapshot> load = new CompletableFuture<>();
+        CompletableFuture<CategorySnapshot> current = categorySnapshots.compute(key,
+            (k, existing) -> existing != null && !isStale(existing, System.nanoTime()) ? existing : load);
+        if (current != load) {
+            return await(current);
+        }
+        try {
+            List<Category> availableCategories = getAvailableCategoriesForUser(user);
+            load.complete(new CategorySnapshot(availableCategories, findDefaultCategory(availableCategories), System.nanoTime()));
+        } catch (RuntimeException e) {
+            // Let the next caller try again rather than caching the failure
+            categorySnapshots.remove(key, load);
+            load.completeExceptionally(e);
+        }
+        return await(load);
+    }
+    
+    private CategorySnapshot await(CompletableFuture<CategorySnapshot> snapshot) {
+        try {
+            return snapshot.join();
+        } catch (CompletionException e) {
+            // Rethrow the loader's exception as if this caller had run the query
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
+            throw e;
+        }
+    }
+    
+    /**
+     * A snapshot still loading is not stale: its callers wait for it rather than load again.
+     */
+    private boolean isStale(CompletableFuture<CategorySnapshot> snapshot, long now) {
+        if (!snapshot.isDone()) {
+            return false;
+        }
+        return snapshot.isCompletedExceptionally() || isExpired(snapshot.join(), now);
+    }
+    
+    private boolean isExpired(CategorySnapshot snapshot, long now) {
+        return now - snapshot.loadedAt > snapshotTtlNanos;
+    }
+    
+    /**
+     * Drop expired snapshots; if the cache is still full, drop arbitrary ones to make room.
+     */
+    private void evictSnapshots() {
+        long now = System.nanoTime();
+        categorySnapshots.values().removeIf(snapshot -> isStale(snapshot, now));
+        Iterator<Long> keys = categorySnapshots.keySet().iterator();
+        while (categorySnapshots.size() >= snapshotCacheMaxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+    
+    /**
+     * Drop the cached categorization snapshot and bump the data version after a category
+     * change. A change to a system category is visible to every user, so it affects all of them.
+     */
+    private void onCategoryChanged(Category category) {
+        if (category.getUser() == null) {
+            categorySnapshots.clear();
+            dataVersionService.bumpAll();
+        } else {
+            categorySnapshots.remove(category.getUser().getId());
+            dataVersionService.bump(category.getUser().getId());
         }
-        
-        return getDefaultCategoryForUser(user);
     }
     
     public List<Category> getAllCategories() {
@@ -212,9 +339,8 @@ public class CategoryService {
         return categoryRepository.findSystemCategories();
     }
     
-    private Category getDefaultCategoryForUser(User user) {
+    private Category findDefaultCategory(List<Category> availableCategories) {
         // First try to find "Other" in available categories for user
-        List<Category> availableCategories = getAvailableCategoriesForUser(user);
         Optional<Category> otherCategory = availableCategories.stream()
             .filter(c -> "Other".equals(c.getName()))
             .findFirst();
@@ -239,7 +365,9 @@ public class CategoryService {
         
         Category category = new Category(name, description, color);
         category.setUser(user); // Associate with the user
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        onCategoryChanged(saved);
+        return saved;
     }
     
     public Optional<Category> getCategoryById(Long id) {
@@ -251,7 +379,9 @@ public class CategoryService {
     }
     
     public Category saveCategory(Category category) {
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        onCategoryChanged(saved);
+        return saved;
     }
     
     public Category updateCategory(Long id, String name, String description, String color) {
@@ -271,7 +401,9 @@ public class CategoryService {
         category.setDescription(description);
         category.setColor(color);
         
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        onCategoryChanged(saved);
+        return saved;
     }
     
     /**
@@ -302,6 +434,7 @@ public class CategoryService {
             if (color != null) category.setColor(color);
             
             category = categoryRepository.save(category);
+            onCategoryChanged(category);
         }
         
         // Update budget if provided
@@ -318,6 +451,7 @@ public class CategoryService {
                 // For user categories, update the category directly
                 category.setMonthlyBudget(budget);
                 category = categoryRepository.save(category);
+                onCategoryChanged(category);
             }
         }
         
@@ -357,6 +491,7 @@ public class CategoryService {
         }
         
         categoryRepository.deleteById(id);
+        onCategoryChanged(category);
         logger.info("Deleted category: {}", category.getName());
     }
     
@@ -391,6 +526,7 @@ public class CategoryService {
             // For user categories, update the category directly
             category.setMonthlyBudget(budget);
             categoryRepository.save(category);
+            onCategoryChanged(category);
         }
         
         return category;
@@ -415,10 +551,11 @@ public class CategoryService {
      */
     public List<CategoryWithBudgetDto> getCategoriesWithBudgetsForUser(User user) {
         List<Category> availableCategories = getAvailableCategoriesForUser(user);
+        Map<Long, BigDecimal> budgets = userCategoryBudgetService.getEffectiveBudgetsForUser(user);
         
         return availableCategories.stream()
             .map(category -> {
-                BigDecimal budget = userCategoryBudgetService.getBudgetForUserAndCategory(user, category);
+                BigDecimal budget = budgets.getOrDefault(category.getId(), BigDecimal.ZERO);
                 boolean hasBudget = budget != null && budget.compareTo(BigDecimal.ZERO) > 0;
                 
                 return new CategoryWithBudgetDto(
@@ -433,4 +570,25 @@ public class CategoryService {
             })
             .collect(Collectors.toList());
     }
+    
+    /**
+     * Categories available to one user, indexed for categorization.
+     */
+    private static final class CategorySnapshot {
+        
+        private final Map<String, Category> byName;
+        private final Category defaultCategory;
+        private final long loadedAt;
+        
+        CategorySnapshot(List<Category> availableCategories, Category defaultCategory, long loadedAt) {
+            Map<String, Category> byName = new HashMap<>();
+            for (Category category : availableCategories) {
+                // Keep the first category for a name, as the list lookup did
+                byName.putIfAbsent(category.getName(), category);
+            }
+            this.byName = byName;
+            this.defaultCategory = defaultCategory;
+            this.loadedAt = loadedAt;
+        }
+    }
 }
@@ -0,0 +1,98 @@
+package com.finance.dashboard.service;
+
+import com.finance.dashboard.dto.FinancialSummaryDto;
+import com.finance.dashboard.model.User;
+import com.finance.dashboard.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Everything the dashboard page shows, in one response. The independent loads run
+ * concurrently on the dashboardExecutor and each is shared by every widget derived from it:
+ * the year summary's trends are reused by the month summary, the month totals feed the
+ * stats and the budget comparison, and the last-12-months totals feed both the top
+ * categories and the average. The user is passed explicitly because the security context
+ * does not follow the work onto the executor threads.
+ */
+@Service
+public class DashboardBundleService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DashboardBundleService.class);
+    
+    private static final int TOP_EXPENSES_LIMIT = 5;
+    private static final int AVERAGE_MONTHS = 12;
+    
+    private final FinancialStatisticsService financialStatisticsService;
+    private final TransactionRepository transactionRepository;
+    private final TaskExecutor dashboardExecutor;
+    
+    public DashboardBundleService(FinancialStatisticsService financialStatisticsService,
+                                  TransactionRepository transactionRepository,
+                                  @Qualifier("dashboardExecutor") TaskExecutor dashboardExecutor) {
+        this.financialStatisticsService = financialStatisticsService;
+        this.transactionRepository = transactionRepository;
+        this.dashboardExecutor = dashboardExecutor;
+    }
+    
+    public Map<String, Object> getBundleForUser(User user) {
+        LocalDate today = LocalDate.now();
+        YearMonth currentMonth = YearMonth.from(today);
+        
+        CompletableFuture<FinancialSummaryDto> yearSummary =
+            async(() -> financialStatisticsService.getCurrentYearSummaryForUser(user));
+        CompletableFuture<List<RollupTotal>> monthTotals =
+            async(() -> financialStatisticsService.getTotalsForUser(user, currentMonth.atDay(1), currentMonth.atEndOfMonth()));
+        CompletableFuture<List<RollupTotal>> lastYearTotals =
+            async(() -> financialStatisticsService.getTotalsForUser(user, today.minusMonths(AVERAGE_MONTHS), today));
+        CompletableFuture<Long> transactionCount = async(() -> transactionRepository.countByUser(user));
+        CompletableFuture<?> heatmap = async(() -> financialStatisticsService.getExpenseHeatmapDataLastYearForUser(user));
+        CompletableFuture<?> budgetComparison = monthTotals.thenApplyAsync(
+            totals -> financialStatisticsService.getBudgetComparison(user, totals), dashboardExecutor);
+        
+        FinancialSummaryDto year = join(yearSummary);
+        FinancialSummaryDto month = financialStatisticsService.toSummary(join(monthTotals), year.getMonthlyTrends());
+        List<RollupTotal> lastYear = join(lastYearTotals);
+        
+        Map<String, Object> bundle = new HashMap<>();
+        bundle.put("summary", year);
+        bundle.put("currentMonth", month);
+        bundle.put("stats", financialStatisticsService.toQuickStats(month, year, join(transactionCount)));
+        bundle.put("topExpenses", financialStatisticsService.getTopExpenseCategories(lastYear, TOP_EXPENSES_LIMIT));
+        bundle.put("averageMonthlyExpenses", financialStatisticsService.getAverageMonthlyExpenses(lastYear, AVERAGE_MONTHS));
+        bundle.put("budgetComparison", join(budgetComparison));
+        bundle.put("expenseHeatmap", join(heatmap));
+        
+        logger.debug("Built dashboard bundle for user: {}", user.getUsername());
+        return bundle;
+    }
+    
+    private <T> CompletableFuture<T> async(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, dashboardExecutor);
+    }
+    
+    /**
+     * Wait for a part of the bundle, rethrowing its own failure rather than the wrapper.
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
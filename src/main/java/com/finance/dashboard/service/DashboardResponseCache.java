@@ -0,0 +1,80 @@
+package com.finance.dashboard.service;
+
+import com.finance.dashboard.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * ETags and a bounded LRU result cache for dashboard responses. Both are derived from the
+ * user's data version, the endpoint, its parameters and today's date (several endpoints
+ * default to "current month" or "last 12 months"), so any write to the user's data
+ * changes the key and stale entries simply age out.
+ */
+@Component
+public class DashboardResponseCache {
+    
+    private final DataVersionService dataVersionService;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Object> entries;
+    
+    public DashboardResponseCache(DataVersionService dataVersionService,
+                                  @Value("${app.dashboard.cache.max-entries:1000}") int maxEntries) {
+        this.dataVersionService = dataVersionService;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+    
+    /**
+     * Quoted strong ETag for one user's view of an endpoint. Costs one version lookup.
+     */
+    public String etag(User user, String endpoint, Object... params) {
+        StringBuilder key = new StringBuilder(endpoint)
+            .append('|').append(user.getId())
+            .append('|').append(dataVersionService.getVersion(user.getId()))
+            .append('|').append(LocalDate.now());
+        for (Object param : params) {
+            key.append('|').append(param);
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+    
+    /**
+     * Cached result for the given ETag, computing it on a miss. The loader runs outside the
+     * lock; two concurrent misses for the same key may both compute it.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String etag, Supplier<T> loader) {
+        lock.lock();
+        try {
+            Object cached = entries.get(etag);
+            if (cached != null) {
+                return (T) cached;
+            }
+        } finally {
+            lock.unlock();
+        }
+        
+        T value = loader.get();
+        if (value != null) {
+            lock.lock();
+            try {
+                entries.put(etag, value);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return value;
+    }
+}
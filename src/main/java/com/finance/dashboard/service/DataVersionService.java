@@ -0,0 +1,39 @@
+package com.finance.dashboard.service;
+
+import com.finance.dashboard.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Per-user data version, bumped on every write that can change what the dashboard shows.
+ * Dashboard ETags and cached results are keyed by it, so a single version lookup tells
+ * whether anything has to be recomputed.
+ */
+@Service
+public class DataVersionService {
+    
+    private final UserRepository userRepository;
+    
+    public DataVersionService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+    
+    @Transactional(readOnly = true)
+    public long getVersion(Long userId) {
+        Long version = userRepository.findDataVersionById(userId);
+        return version != null ? version : 0L;
+    }
+    
+    @Transactional
+    public void bump(Long userId) {
+        userRepository.incrementDataVersion(userId);
+    }
+    
+    /**
+     * For changes visible to every user, such as edits to system categories.
+     */
+    @Transactional
+    public void bumpAll() {
+        userRepository.incrementAllDataVersions();
+    }
+}
@@ -1,183 +1,400 @@
 package com.finance.dashboard.service;
 
-import com.finance.dashboard.model.Category;
 import com.finance.dashboard.model.Transaction;
 import com.finance.dashboard.model.TransactionType;
 import com.finance.dashboard.model.User;
 import com.finance.dashboard.repository.CategoryRepository;
-import com.finance.dashboard.repository.TransactionRepository;
-import com.finance.dashboard.util.SecurityUtil;
+import com.finance.dashboard.util.AmountParser;
+import com.finance.dashboard.util.DateParser;
+import com.finance.dashboard.util.TransactionFingerprint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
-import java.time.ZoneId;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @Service
 public class ExcelProcessingService {
     
     private static final Logger logger = LoggerFactory.getLogger(ExcelProcessingService.class);
+    
+    // Date | Description | Amount | Reference
+    private static final int COLUMN_COUNT = 4;
+    
+    // Rows handed to a parse worker at a time, and batches in flight per parse worker
+    private static final int PARSE_BATCH_SIZE = 256;
+    private static final int BATCHES_IN_FLIGHT_PER_WORKER = 4;
 
-    private final TransactionRepository transactionRepository;
+    private final TransactionImportWriter transactionImportWriter;
 
     private final CategoryService categoryService;
 
-    public ExcelProcessingService(TransactionRepository transactionRepository,
-                                  CategoryService categoryService) {
-        this.transactionRepository = transactionRepository;
+    private final StreamingExcelReader streamingExcelReader;
+
+    private final boolean streamingEnabled;
+
+    private final int chunkSize;
+
+    private final TaskExecutor importParseExecutor;
+
+    private final int maxBatchesInFlight;
+
+    private final DateParser dateParser;
+
+    // Per-stage time: read (once per import, excluding time the reader spends waiting on or
+    // writing parsed batches), parse and categorize (per batch), persist (per chunk)
+    private final Timer readTimer;
+    private final Timer parseTimer;
+    private final Timer categorizeTimer;
+    private final Timer persistTimer;
+
+    private final Counter rowsSaved;
+    private final Counter rowsSkipped;
+    private final Counter rowsFailed;
+    private final Counter rowsDuplicate;
+
+    public ExcelProcessingService(TransactionImportWriter transactionImportWriter,
+                                  CategoryService categoryService,
+                                  StreamingExcelReader streamingExcelReader,
+                                  @Value("${app.import.streaming:true}") boolean streamingEnabled,
+                                  @Value("${app.import.chunk-size:1000}") int chunkSize,
+                                  @Qualifier("importParseExecutor") ThreadPoolTaskExecutor importParseExecutor,
+                                  @Value("${app.import.date-patterns:yyyy-MM-dd}") List<String> datePatterns,
+                                  MeterRegistry meterRegistry) {
+        this.transactionImportWriter = transactionImportWriter;
         this.categoryService = categoryService;
+        this.streamingExcelReader = streamingExcelReader;
+        this.streamingEnabled = streamingEnabled;
+        this.chunkSize = chunkSize;
+        this.importParseExecutor = importParseExecutor;
+        this.maxBatchesInFlight = importParseExecutor.getMaxPoolSize() * BATCHES_IN_FLIGHT_PER_WORKER;
+        this.dateParser = new DateParser(datePatterns);
+        this.readTimer = stageTimer(meterRegistry, "read");
+        this.parseTimer = stageTimer(meterRegistry, "parse");
+        this.categorizeTimer = stageTimer(meterRegistry, "categorize");
+        this.persistTimer = stageTimer(meterRegistry, "persist");
+        this.rowsSaved = rowCounter(meterRegistry, "saved");
+        this.rowsSkipped = rowCounter(meterRegistry, "skipped");
+        this.rowsFailed = rowCounter(meterRegistry, "failed");
+        this.rowsDuplicate = rowCounter(meterRegistry, "duplicate");
+    }
+
+    private static Timer stageTimer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder("finance.import.stage")
+            .description("Time spent in each stage of Excel imports")
+            .tag("stage", stage)
+            .register(meterRegistry);
     }
 
-    public List<Transaction> processExcelFile(MultipartFile file) throws IOException {
-        User currentUser = SecurityUtil.getCurrentUser();
-        return processExcelFile(file, currentUser);
+    private static Counter rowCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("finance.import.rows")
+            .description("Imported rows by outcome")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
     }
 
-    public List<Transaction> processExcelFile(MultipartFile file, User user) throws IOException {
-        logger.info("Processing Excel file: {} for user: {}", file.getOriginalFilename(), user.getUsername());
+    /**
+     * Import the first sheet of an Excel file for the given user, recording row counts in
+     * {@code progress} as it goes.
+     * <p>
+     * The import runs as a pipeline: this thread reads raw rows and hands them in batches to
+     * the parse workers, which parse and categorize them in parallel. Finished batches are
+     * taken back strictly in submission order, so fingerprints, counters and chunk writes see
+     * the rows in file order. At most {@code maxBatchesInFlight} batches are outstanding; the
+     * reader waits for the oldest one beyond that, which bounds memory and provides backpressure.
+     */
+    public ImportProgress importExcelFile(Path file, String filename, User user, ImportProgress progress) throws IOException {
+        logger.info("Processing Excel file: {} for user: {}", filename, user.getUsername());
         
-        List<Transaction> transactions = new ArrayList<>();
+        ImportPipeline pipeline = new ImportPipeline(user, progress);
+        readRows(file, pipeline::accept);
+        pipeline.finish();
         
-        try (Workbook workbook = new XSSFWorkbook(file.getInputStream())) {
-            Sheet sheet = workbook.getSheetAt(0);
-            
-            // Skip header row (assuming first row contains headers)
-            boolean isFirstRow = true;
+        logger.info("Successfully processed {} transactions from Excel file for user: {} ({} skipped, {} failed, {} already imported)", 
+                   progress.getRowsSaved(), user.getUsername(), progress.getRowsSkipped(), progress.getRowsFailed(),
+                   progress.getRowsDuplicate());
+        
+        return progress;
+    }
+    
+    /**
+     * Per-import state of the read → parse → write pipeline. Only used by the reading thread.
+     */
+    private class ImportPipeline {
+        
+        private final User user;
+        private final ImportProgress progress;
+        private final Deque<CompletableFuture<List<ParsedRow>>> inFlight = new ArrayDeque<>();
+        private final List<Transaction> chunk = new ArrayList<>(chunkSize);
+        private final TransactionFingerprint fingerprints = new TransactionFingerprint();
+        private List<ExcelRow> batch = new ArrayList<>(PARSE_BATCH_SIZE);
+        // Reading time is the time between row callbacks, i.e. spent inside the reader
+        private long readNanos;
+        private long readResumedAt = System.nanoTime();
+        
+        ImportPipeline(User user, ImportProgress progress) {
+            this.user = user;
+            this.progress = progress;
+        }
+        
+        void accept(ExcelRow row) {
+            readNanos += System.nanoTime() - readResumedAt;
+            progress.rowParsed();
+            batch.add(row);
+            if (batch.size() >= PARSE_BATCH_SIZE) {
+                submitBatch();
+            }
+            readResumedAt = System.nanoTime();
+        }
+        
+        void finish() {
+            readNanos += System.nanoTime() - readResumedAt;
+            readTimer.record(readNanos, TimeUnit.NANOSECONDS);
+            if (!batch.isEmpty()) {
+                submitBatch();
+            }
+            while (!inFlight.isEmpty()) {
+                drain(await(inFlight.poll()));
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk();
+            }
+        }
+        
+        private void submitBatch() {
+            List<ExcelRow> rows = batch;
+            batch = new ArrayList<>(PARSE_BATCH_SIZE);
+            inFlight.add(CompletableFuture.supplyAsync(() -> parseBatch(rows, user), importParseExecutor));
             
-            for (Row row : sheet) {
-                if (isFirstRow) {
-                    isFirstRow = false;
-                    continue;
+            // Take back every batch that is already done, and wait for the oldest when the window is full
+            while (!inFlight.isEmpty() && (inFlight.size() > maxBatchesInFlight || inFlight.peek().isDone())) {
+                drain(await(inFlight.poll()));
+            }
+        }
+        
+        private void drain(List<ParsedRow> rows) {
+            int failed = 0;
+            int skipped = 0;
+            for (ParsedRow row : rows) {
+                if (row.failed) {
+                    progress.rowFailed();
+                    failed++;
+                } else if (row.transaction == null) {
+                    progress.rowSkipped();
+                    skipped++;
+                } else {
+                    row.transaction.setFingerprint(fingerprints.next(row.transaction));
+                    chunk.add(row.transaction);
                 }
                 
-                try {
-                    Transaction transaction = parseRowToTransaction(row, user);
-                    if (transaction != null) {
-                        transactions.add(transaction);
-                    }
-                } catch (Exception e) {
-                    logger.warn("Error parsing row {}: {}", row.getRowNum(), e.getMessage());
+                // Flush full chunks as we go so the persistence context never holds the whole file
+                if (chunk.size() >= chunkSize) {
+                    writeChunk();
                 }
             }
+            rowsFailed.increment(failed);
+            rowsSkipped.increment(skipped);
         }
         
-        // Save all transactions
-        List<Transaction> savedTransactions = transactionRepository.saveAll(transactions);
-        logger.info("Successfully processed {} transactions from Excel file for user: {}", 
-                   savedTransactions.size(), user.getUsername());
+        private void writeChunk() {
+            long start = System.nanoTime();
+            int written = transactionImportWriter.writeChunk(chunk).size();
+            persistTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            progress.rowsSaved(written);
+            progress.rowsDuplicate(chunk.size() - written);
+            rowsSaved.increment(written);
+            rowsDuplicate.increment(chunk.size() - written);
+            chunk.clear();
+        }
         
-        return savedTransactions;
+        private List<ParsedRow> await(CompletableFuture<List<ParsedRow>> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
     }
     
-    private Transaction parseRowToTransaction(Row row, User user) {
-        try {
-            // Assuming Excel format: Date | Description | Amount | Reference
-            // Adjust column indices based on your Excel format
-            
-            Cell dateCell = row.getCell(0);
-            Cell descriptionCell = row.getCell(1);
-            Cell amountCell = row.getCell(2);
-            Cell referenceCell = row.getCell(3);
-            
-            if (dateCell == null || descriptionCell == null || amountCell == null) {
-                return null;
-            }
-            
-            // Parse date
-            LocalDate date = parseDate(dateCell);
-            if (date == null) {
-                logger.warn("Invalid date in row {}", row.getRowNum());
-                return null;
+    /**
+     * Parse and categorize a batch on a parse worker. Row errors are logged and recorded in
+     * the result rather than thrown, so one bad row never fails its batch.
+     */
+    private List<ParsedRow> parseBatch(List<ExcelRow> rows, User user) {
+        long start = System.nanoTime();
+        long categorizeNanos = 0;
+        List<ParsedRow> parsed = new ArrayList<>(rows.size());
+        for (ExcelRow row : rows) {
+            try {
+                Transaction transaction = parseRowToTransaction(row, user);
+                if (transaction != null) {
+                    // Auto-categorize transaction using user-aware categorization
+                    long categorizeStart = System.nanoTime();
+                    transaction.setCategory(categoryService.categorizeTransaction(transaction.getDescription(), user));
+                    categorizeNanos += System.nanoTime() - categorizeStart;
+                }
+                parsed.add(new ParsedRow(transaction, false));
+            } catch (Exception e) {
+                logger.warn("Error parsing row {}: {}", row.getRowNum(), e.getMessage());
+                parsed.add(new ParsedRow(null, true));
             }
+        }
+        categorizeTimer.record(categorizeNanos, TimeUnit.NANOSECONDS);
+        parseTimer.record(System.nanoTime() - start - categorizeNanos, TimeUnit.NANOSECONDS);
+        return parsed;
+    }
+    
+    /**
+     * Outcome of one row: a transaction, skipped ({@code transaction == null}) or failed.
+     */
+    private static class ParsedRow {
+        
+        private final Transaction transaction;
+        private final boolean failed;
+        
+        ParsedRow(Transaction transaction, boolean failed) {
+            this.transaction = transaction;
+            this.failed = failed;
+        }
+    }
+    
+    /**
+     * Feed every data row of the first sheet to the handler. The streaming reader keeps heap
+     * use flat regardless of file size; the DOM reader is kept for app.import.streaming=false.
+     */
+    private void readRows(Path file, Consumer<ExcelRow> rowHandler) throws IOException {
+        // Skip header row (assuming first row contains headers)
+        Consumer<ExcelRow> dataRows = new Consumer<>() {
+            private boolean isFirstRow = true;
             
-            // Parse description
-            String description = getCellValueAsString(descriptionCell);
-            if (description == null || description.trim().isEmpty()) {
-                logger.warn("Empty description in row {}", row.getRowNum());
-                return null;
+            @Override
+            public void accept(ExcelRow row) {
+                if (isFirstRow) {
+                    isFirstRow = false;
+                    return;
+                }
+                rowHandler.accept(row);
             }
-            
-            // Parse amount
-            BigDecimal amount = parseAmount(amountCell);
-            if (amount == null) {
-                logger.warn("Invalid amount in row {}", row.getRowNum());
-                return null;
+        };
+        
+        if (streamingEnabled) {
+            streamingExcelReader.read(file, COLUMN_COUNT, dataRows);
+            return;
+        }
+        
+        try (InputStream inputStream = Files.newInputStream(file);
+             XSSFWorkbook workbook = new XSSFWorkbook(inputStream)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            for (Row row : sheet) {
+                dataRows.accept(ExcelRow.fromRow(row, COLUMN_COUNT, workbook.isDate1904()));
             }
-            
-            // Parse reference (optional)
-            String reference = referenceCell != null ? getCellValueAsString(referenceCell) : null;
-            
-            // Determine transaction type based on amount
-            TransactionType type = amount.compareTo(BigDecimal.ZERO) >= 0 ? 
-                                  TransactionType.INCOME : TransactionType.EXPENSE;
-            
-            // Create transaction
-            Transaction transaction = new Transaction(date, description, amount, type);
-            transaction.setReference(reference);
-            transaction.setUser(user); // Associate with the user
-            
-            // Auto-categorize transaction using user-aware categorization
-            Category category = categoryService.categorizeTransaction(description, user);
-            transaction.setCategory(category);
-            
-            return transaction;
-            
-        } catch (Exception e) {
-            logger.error("Error parsing row {}: {}", row.getRowNum(), e.getMessage());
+        }
+    }
+    
+    /**
+     * Returns null for rows that are incomplete or invalid (skipped); unexpected errors
+     * propagate so the caller can count the row as failed. The transaction is not categorized yet.
+     */
+    private Transaction parseRowToTransaction(ExcelRow row, User user) {
+        // Assuming Excel format: Date | Description | Amount | Reference
+        // Adjust column indices based on your Excel format
+        
+        ExcelRow.Cell dateCell = row.getCell(0);
+        ExcelRow.Cell descriptionCell = row.getCell(1);
+        ExcelRow.Cell amountCell = row.getCell(2);
+        ExcelRow.Cell referenceCell = row.getCell(3);
+        
+        if (dateCell == null || descriptionCell == null || amountCell == null) {
+            return null;
+        }
+        
+        // Parse date
+        LocalDate date = parseDate(dateCell, row.isDate1904());
+        if (date == null) {
+            logger.warn("Invalid date in row {}", row.getRowNum());
+            return null;
+        }
+        
+        // Parse description
+        String description = getCellValueAsString(descriptionCell);
+        if (description == null || description.trim().isEmpty()) {
+            logger.warn("Empty description in row {}", row.getRowNum());
             return null;
         }
+        
+        // Parse amount
+        BigDecimal amount = parseAmount(amountCell);
+        if (amount == null) {
+            logger.warn("Invalid amount in row {}", row.getRowNum());
+            return null;
+        }
+        // Numeric cells carry binary fractions such as 0.30000000000000004
+        amount = Transaction.roundAmount(amount);
+        
+        // Parse reference (optional)
+        String reference = referenceCell != null ? getCellValueAsString(referenceCell) : null;
+        
+        // Determine transaction type based on amount
+        TransactionType type = amount.compareTo(BigDecimal.ZERO) >= 0 ? 
+                              TransactionType.INCOME : TransactionType.EXPENSE;
+        
+        // Create transaction
+        Transaction transaction = new Transaction(date, description, amount, type);
+        transaction.setReference(reference);
+        transaction.setUser(user); // Associate with the user
+        
+        return transaction;
     }
     
-    private LocalDate parseDate(Cell cell) {
-        try {
-            if (cell.getCellType() == CellType.NUMERIC && DateUtil.isCellDateFormatted(cell)) {
-                Date date = cell.getDateCellValue();
-                return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
-            } else if (cell.getCellType() == CellType.STRING) {
-                // Try to parse string date - you might need to adjust the format
-                String dateStr = cell.getStringCellValue();
-                // Add custom date parsing logic here if needed
-                return LocalDate.parse(dateStr);
-            }
-        } catch (Exception e) {
-            logger.warn("Error parsing date: {}", e.getMessage());
+    private LocalDate parseDate(ExcelRow.Cell cell, boolean date1904) {
+        if (cell.getCellType() == CellType.NUMERIC && cell.isDateFormatted()) {
+            return DateParser.fromExcelSerial(cell.getNumericCellValue(), date1904);
+        } else if (cell.getCellType() == CellType.STRING) {
+            // Tried against app.import.date-patterns in order
+            return dateParser.parse(cell.getStringCellValue());
         }
         return null;
     }
     
-    private BigDecimal parseAmount(Cell cell) {
-        try {
-            if (cell.getCellType() == CellType.NUMERIC) {
-                return BigDecimal.valueOf(cell.getNumericCellValue());
-            } else if (cell.getCellType() == CellType.STRING) {
-                String amountStr = cell.getStringCellValue().trim();
-                // Remove thousands separators (commas), but do not allow malformed input
-                amountStr = amountStr.replace(",", "");
-                // Validate the string strictly: optional leading minus, digits, optional dot and digits
-                if (amountStr.matches("^-?\\d+(\\.\\d+)?$")) {
-                    return new BigDecimal(amountStr);
-                } else {
-                    logger.warn("Amount string '{}' is not a valid number format", amountStr);
-                    return null;
-                }
+    private BigDecimal parseAmount(ExcelRow.Cell cell) {
+        if (cell.getCellType() == CellType.NUMERIC) {
+            return BigDecimal.valueOf(cell.getNumericCellValue());
+        } else if (cell.getCellType() == CellType.STRING) {
+            BigDecimal amount = AmountParser.parse(cell.getStringCellValue());
+            if (amount == null) {
+                logger.warn("Amount string '{}' is not a valid number format", cell.getStringCellValue().trim());
             }
-        } catch (Exception e) {
-            logger.warn("Error parsing amount: {}", e.getMessage());
+            return amount;
         }
         return null;
     }
     
-    private String getCellValueAsString(Cell cell) {
+    private String getCellValueAsString(ExcelRow.Cell cell) {
         if (cell == null) return null;
         
         switch (cell.getCellType()) {
@@ -0,0 +1,140 @@
+package com.finance.dashboard.service;
+
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+
+/**
+ * Read-only view of a spreadsheet row, produced by both the DOM ({@code XSSFWorkbook})
+ * and the streaming (SAX) readers so that row parsing does not depend on how the
+ * workbook was read. Only the first {@code columnCount} cells are kept.
+ * <p>
+ * Formula cells carry their cached result (the value Excel last calculated), as the SAX
+ * reader only sees that value; a formula without a cached result reads as blank.
+ */
+public class ExcelRow {
+
+    private final int rowNum;
+    private final Cell[] cells;
+    private final boolean date1904;
+
+    public ExcelRow(int rowNum, Cell[] cells, boolean date1904) {
+        this.rowNum = rowNum;
+        this.cells = cells;
+        this.date1904 = date1904;
+    }
+
+    /**
+     * Copy the first {@code columnCount} cells of a DOM row.
+     */
+    public static ExcelRow fromRow(Row row, int columnCount, boolean date1904) {
+        Cell[] cells = new Cell[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            org.apache.poi.ss.usermodel.Cell cell = row.getCell(i);
+            if (cell == null) {
+                continue;
+            }
+            CellType cellType = cell.getCellType();
+            if (cellType == CellType.FORMULA) {
+                if (cell instanceof XSSFCell xssfCell && xssfCell.getRawValue() == null) {
+                    cells[i] = Cell.blank();
+                    continue;
+                }
+                cellType = cell.getCachedFormulaResultType();
+            }
+            switch (cellType) {
+                case NUMERIC:
+                    cells[i] = Cell.numeric(cell.getNumericCellValue(), DateUtil.isCellDateFormatted(cell));
+                    break;
+                case STRING:
+                    cells[i] = Cell.string(cell.getStringCellValue());
+                    break;
+                case BOOLEAN:
+                    cells[i] = Cell.bool(cell.getBooleanCellValue());
+                    break;
+                default:
+                    cells[i] = Cell.of(cellType);
+            }
+        }
+        return new ExcelRow(row.getRowNum(), cells, date1904);
+    }
+
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    /**
+     * Returns the cell at the given column, or {@code null} when the row has no such cell.
+     */
+    public Cell getCell(int index) {
+        return index < cells.length ? cells[index] : null;
+    }
+
+    public boolean isDate1904() {
+        return date1904;
+    }
+
+    public static class Cell {
+
+        private static final Cell BLANK = new Cell(CellType.BLANK, 0, null, false, false);
+
+        private final CellType cellType;
+        private final double numericValue;
+        private final String stringValue;
+        private final boolean booleanValue;
+        private final boolean dateFormatted;
+
+        private Cell(CellType cellType, double numericValue, String stringValue,
+                     boolean booleanValue, boolean dateFormatted) {
+            this.cellType = cellType;
+            this.numericValue = numericValue;
+            this.stringValue = stringValue;
+            this.booleanValue = booleanValue;
+            this.dateFormatted = dateFormatted;
+        }
+
+        public static Cell numeric(double value, boolean dateFormatted) {
+            return new Cell(CellType.NUMERIC, value, null, false, dateFormatted);
+        }
+
+        public static Cell string(String value) {
+            return new Cell(CellType.STRING, 0, value, false, false);
+        }
+
+        public static Cell bool(boolean value) {
+            return new Cell(CellType.BOOLEAN, 0, null, value, false);
+        }
+
+        public static Cell blank() {
+            return BLANK;
+        }
+
+        /**
+         * A cell whose value is not used by the importer (error, ...).
+         */
+        public static Cell of(CellType cellType) {
+            return cellType == CellType.BLANK ? BLANK : new Cell(cellType, 0, null, false, false);
+        }
+
+        public CellType getCellType() {
+            return cellType;
+        }
+
+        public double getNumericCellValue() {
+            return numericValue;
+        }
+
+        public String getStringCellValue() {
+            return stringValue;
+        }
+
+        public boolean getBooleanCellValue() {
+            return booleanValue;
+        }
+
+        public boolean isDateFormatted() {
+            return dateFormatted;
+        }
+    }
+}
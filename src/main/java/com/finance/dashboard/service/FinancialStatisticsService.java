@@ -5,31 +5,48 @@ import com.finance.dashboard.dto.CategorySummaryDto;
 import com.finance.dashboard.dto.FinancialSummaryDto;
 import com.finance.dashboard.dto.HeatmapDataDto;
 import com.finance.dashboard.dto.MonthlyTrendDto;
+import com.finance.dashboard.dto.TrendPointDto;
 import com.finance.dashboard.model.Category;
 import com.finance.dashboard.model.TransactionType;
 import com.finance.dashboard.model.User;
 import com.finance.dashboard.repository.CategoryRepository;
 import com.finance.dashboard.repository.TransactionRepository;
+import com.finance.dashboard.util.Money;
 import com.finance.dashboard.util.SecurityUtil;
+import com.finance.dashboard.util.TimeSeries;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
 
 @Service
+@Timed(value = "finance.statistics", description = "Dashboard statistics, per service method")
 public class FinancialStatisticsService {
     
     private static final Logger logger = LoggerFactory.getLogger(FinancialStatisticsService.class);
     
+    // Indexed by DayOfWeek.getValue() - 1
+    private static final String[] DAY_NAMES = {
+        "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"
+    };
+    
+    // Heatmap column order, Sunday first
+    private static final DayOfWeek[] HEATMAP_DAYS = {
+        DayOfWeek.SUNDAY, DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY,
+        DayOfWeek.THURSDAY, DayOfWeek.FRIDAY, DayOfWeek.SATURDAY
+    };
+    
     @Autowired
     private final TransactionRepository transactionRepository;
     
@@ -38,13 +55,17 @@ public class FinancialStatisticsService {
     
     @Autowired
     private final UserCategoryBudgetService userCategoryBudgetService;
+    
+    private final TransactionRollupService transactionRollupService;
 
     public FinancialStatisticsService(TransactionRepository transactionRepository, 
                                     CategoryRepository categoryRepository,
-                                    UserCategoryBudgetService userCategoryBudgetService) {
+                                    UserCategoryBudgetService userCategoryBudgetService,
+                                    TransactionRollupService transactionRollupService) {
         this.transactionRepository = transactionRepository;
         this.categoryRepository = categoryRepository;
         this.userCategoryBudgetService = userCategoryBudgetService;
+        this.transactionRollupService = transactionRollupService;
     }
     
     public FinancialSummaryDto getFinancialSummary(LocalDate startDate, LocalDate endDate) {
@@ -55,69 +76,147 @@ public class FinancialStatisticsService {
     public FinancialSummaryDto getFinancialSummaryForUser(User user, LocalDate startDate, LocalDate endDate) {
         logger.info("Generating financial summary from {} to {} for user: {}", startDate, endDate, user.getUsername());
         
+        // Totals, breakdowns and trends all come from one pass over the user's rollups
+        RollupSummary rollups = transactionRollupService.getSummary(user.getId(), startDate, endDate);
+        return toSummary(rollups.getTotals(), toMonthlyTrends(rollups.getMonthlyTotals()));
+    }
+    
+    /**
+     * Build a summary from range totals that were already loaded. The monthly trends cover
+     * the user's whole history, so one list can be shared by summaries of different ranges;
+     * pass {@code null} when the caller does not need them.
+     */
+    public FinancialSummaryDto toSummary(List<RollupTotal> totals, List<MonthlyTrendDto> monthlyTrends) {
         // Calculate totals
-        BigDecimal totalIncome = getTotalByTypeForUser(user, TransactionType.INCOME, startDate, endDate);
-        BigDecimal totalExpenses = getTotalByTypeForUser(user, TransactionType.EXPENSE, startDate, endDate);
+        Money totalIncome = sumByType(totals, TransactionType.INCOME);
+        Money totalExpenses = sumByType(totals, TransactionType.EXPENSE);
         // Ensure expenses are negative before calculating net income
-        if (totalExpenses.compareTo(BigDecimal.ZERO) > 0) {
+        if (totalExpenses.signum() > 0) {
             totalExpenses = totalExpenses.negate();
         }
-        BigDecimal netIncome = totalIncome.add(totalExpenses); // expenses are now guaranteed to be negative
-        Long totalTransactions = transactionRepository.countTransactionsByUserAndBetweenDates(user, startDate, endDate);
+        Money netIncome = totalIncome.plus(totalExpenses); // expenses are now guaranteed to be negative
+        Long totalTransactions = totals.stream().mapToLong(RollupTotal::getTransactionCount).sum();
         
-        FinancialSummaryDto summary = new FinancialSummaryDto(totalIncome, totalExpenses, netIncome, totalTransactions);
+        FinancialSummaryDto summary = new FinancialSummaryDto(totalIncome.toBigDecimal(), totalExpenses.toBigDecimal(),
+            netIncome.toBigDecimal(), totalTransactions);
         
         // Add category breakdowns
-        summary.setExpensesByCategory(getCategorySummaryForUser(user, TransactionType.EXPENSE, startDate, endDate));
-        summary.setIncomeByCategory(getCategorySummaryForUser(user, TransactionType.INCOME, startDate, endDate));
+        summary.setExpensesByCategory(toCategorySummaries(totals, TransactionType.EXPENSE));
+        summary.setIncomeByCategory(toCategorySummaries(totals, TransactionType.INCOME));
         
         // Add monthly trends
-        summary.setMonthlyTrends(getMonthlyTrendsForUser(user));
+        summary.setMonthlyTrends(monthlyTrends);
         
         return summary;
     }
     
     public FinancialSummaryDto getCurrentMonthSummary() {
+        return getCurrentMonthSummaryForUser(SecurityUtil.getCurrentUser());
+    }
+    
+    public FinancialSummaryDto getCurrentMonthSummaryForUser(User user) {
         YearMonth currentMonth = YearMonth.now();
         LocalDate startDate = currentMonth.atDay(1);
         LocalDate endDate = currentMonth.atEndOfMonth();
-        return getFinancialSummary(startDate, endDate);
+        return getFinancialSummaryForUser(user, startDate, endDate);
     }
     
     public FinancialSummaryDto getCurrentYearSummary() {
+        return getCurrentYearSummaryForUser(SecurityUtil.getCurrentUser());
+    }
+    
+    public FinancialSummaryDto getCurrentYearSummaryForUser(User user) {
         LocalDate startDate = LocalDate.of(LocalDate.now().getYear(), 1, 1);
         LocalDate endDate = LocalDate.of(LocalDate.now().getYear(), 12, 31);
-        return getFinancialSummary(startDate, endDate);
+        return getFinancialSummaryForUser(user, startDate, endDate);
+    }
+    
+    /**
+     * Per-category totals for a range, for callers that derive several views from one load.
+     */
+    public List<RollupTotal> getTotalsForUser(User user, LocalDate startDate, LocalDate endDate) {
+        return transactionRollupService.getTotals(user.getId(), startDate, endDate);
+    }
+    
+    /**
+     * Current month and year figures plus the overall transaction count. Only the range
+     * totals are loaded; the monthly trends of a full summary are not needed here.
+     */
+    public Map<String, Object> getQuickStatsForUser(User user) {
+        YearMonth currentMonth = YearMonth.now();
+        int currentYear = currentMonth.getYear();
+        FinancialSummaryDto month = toSummary(
+            getTotalsForUser(user, currentMonth.atDay(1), currentMonth.atEndOfMonth()), null);
+        FinancialSummaryDto year = toSummary(
+            getTotalsForUser(user, LocalDate.of(currentYear, 1, 1), LocalDate.of(currentYear, 12, 31)), null);
+        return toQuickStats(month, year, transactionRepository.countByUser(user));
+    }
+    
+    public Map<String, Object> toQuickStats(FinancialSummaryDto currentMonth, FinancialSummaryDto currentYear,
+                                            long totalTransactions) {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("currentMonth", Map.of(
+            "income", currentMonth.getTotalIncome(),
+            "expenses", currentMonth.getTotalExpenses(),
+            "net", currentMonth.getNetIncome(),
+            "transactions", currentMonth.getTotalTransactions()
+        ));
+        
+        stats.put("currentYear", Map.of(
+            "income", currentYear.getTotalIncome(),
+            "expenses", currentYear.getTotalExpenses(),
+            "net", currentYear.getNetIncome(),
+            "transactions", currentYear.getTotalTransactions()
+        ));
+        
+        stats.put("totalTransactions", totalTransactions);
+        return stats;
     }
     
     private BigDecimal getTotalByTypeForUser(User user, TransactionType type, LocalDate startDate, LocalDate endDate) {
-        BigDecimal total = transactionRepository.sumAmountByUserAndTypeAndDateBetween(user, type, startDate, endDate);
-        return total != null ? total : BigDecimal.ZERO;
+        return sumByType(transactionRollupService.getTotals(user.getId(), startDate, endDate), type).toBigDecimal();
+    }
+    
+    private Money sumByType(List<RollupTotal> totals, TransactionType type) {
+        Money total = Money.ZERO;
+        for (RollupTotal rollupTotal : totals) {
+            if (rollupTotal.getType() == type) {
+                total = total.plus(rollupTotal.getTotal());
+            }
+        }
+        return total;
     }
     
     private List<CategorySummaryDto> getCategorySummaryForUser(User user, TransactionType type, LocalDate startDate, LocalDate endDate) {
-        List<Object[]> results = transactionRepository.findCategoryTotalsByUserAndTypeAndDateBetween(user, type, startDate, endDate);
+        return toCategorySummaries(transactionRollupService.getTotals(user.getId(), startDate, endDate), type);
+    }
+    
+    private List<CategorySummaryDto> toCategorySummaries(List<RollupTotal> totals, TransactionType type) {
+        // Sum per category name (uncategorized transactions are left out), largest first
+        Map<String, Money> amountsByName = new HashMap<>();
+        for (RollupTotal total : totals) {
+            if (total.getType() == type && total.getCategoryName() != null) {
+                amountsByName.merge(total.getCategoryName(), total.getTotal(), Money::plus);
+            }
+        }
+        List<Map.Entry<String, Money>> results = new ArrayList<>(amountsByName.entrySet());
+        results.sort(Map.Entry.<String, Money>comparingByValue().reversed());
+        
         List<CategorySummaryDto> categorySummaries = new ArrayList<>();
         
         // Calculate total for percentage calculation
-        BigDecimal grandTotal = BigDecimal.ZERO;
-        for (Object[] result : results) {
-            BigDecimal amount = (BigDecimal) result[1];
-            grandTotal = grandTotal.add(amount.abs());
+        Money grandTotal = Money.ZERO;
+        for (Map.Entry<String, Money> result : results) {
+            grandTotal = grandTotal.plus(result.getValue().abs());
         }
         
-        // Create category summaries with percentages
-        for (Object[] result : results) {
-            String categoryName = (String) result[0];
-            BigDecimal amount = (BigDecimal) result[1];
+        // Create category summaries with percentages (ratio rounded half up to four places)
+        for (Map.Entry<String, Money> result : results) {
+            String categoryName = result.getKey();
+            Money amount = result.getValue();
+            Double percentage = amount.abs().percentOf(grandTotal);
             
-            Double percentage = 0.0;
-            if (grandTotal.compareTo(BigDecimal.ZERO) > 0) {
-                percentage = amount.abs().divide(grandTotal, 4, RoundingMode.HALF_UP)
-                           .multiply(BigDecimal.valueOf(100)).doubleValue();
-            }
-            
-            CategorySummaryDto summary = new CategorySummaryDto(categoryName, amount, percentage, null);
+            CategorySummaryDto summary = new CategorySummaryDto(categoryName, amount.toBigDecimal(), percentage, null);
             categorySummaries.add(summary);
         }
         
@@ -125,76 +224,55 @@ public class FinancialStatisticsService {
     }
     
     private List<MonthlyTrendDto> getMonthlyTrendsForUser(User user) {
-        List<Object[]> incomeResults = transactionRepository.findMonthlyTotalsByUserAndType(user, TransactionType.INCOME);
-        List<Object[]> expenseResults = transactionRepository.findMonthlyTotalsByUserAndType(user, TransactionType.EXPENSE);
-        
-        // Create maps for easy lookup
-        Map<String, BigDecimal> incomeMap = new HashMap<>();
-        Map<String, BigDecimal> expenseMap = new HashMap<>();
-        
-        for (Object[] result : incomeResults) {
-            // Handle both Integer and BigDecimal types for year/month (database compatibility)
-            Integer year = result[0] instanceof BigDecimal ? ((BigDecimal) result[0]).intValue() : (Integer) result[0];
-            Integer month = result[1] instanceof BigDecimal ? ((BigDecimal) result[1]).intValue() : (Integer) result[1];
-            BigDecimal amount = (BigDecimal) result[2];
-            String key = year + "-" + month;
-            incomeMap.put(key, amount);
-        }
-        
-        for (Object[] result : expenseResults) {
-            // Handle both Integer and BigDecimal types for year/month (database compatibility)
-            Integer year = result[0] instanceof BigDecimal ? ((BigDecimal) result[0]).intValue() : (Integer) result[0];
-            Integer month = result[1] instanceof BigDecimal ? ((BigDecimal) result[1]).intValue() : (Integer) result[1];
-            BigDecimal amount = (BigDecimal) result[2];
-            String key = year + "-" + month;
-            expenseMap.put(key, amount);
-        }
-        
-        // Combine results
+        return toMonthlyTrends(transactionRollupService.getMonthlyTotals(user.getId()));
+    }
+    
+    private List<MonthlyTrendDto> toMonthlyTrends(SortedMap<YearMonth, Map<TransactionType, Money>> monthlyTotals) {
+        // Every month that has income or expenses, in month order
         List<MonthlyTrendDto> trends = new ArrayList<>();
-        
-        // Get all unique year-month combinations
-        for (String key : incomeMap.keySet()) {
-            String[] parts = key.split("-");
-            Integer year = Integer.parseInt(parts[0]);
-            Integer month = Integer.parseInt(parts[1]);
-            
-            BigDecimal income = incomeMap.getOrDefault(key, BigDecimal.ZERO);
-            BigDecimal expenses = expenseMap.getOrDefault(key, BigDecimal.ZERO);
-            
-            trends.add(new MonthlyTrendDto(year, month, income, expenses));
-        }
-        
-        // Add months that only have expenses
-        for (String key : expenseMap.keySet()) {
-            if (!incomeMap.containsKey(key)) {
-                String[] parts = key.split("-");
-                Integer year = Integer.parseInt(parts[0]);
-                Integer month = Integer.parseInt(parts[1]);
-                
-                BigDecimal income = BigDecimal.ZERO;
-                BigDecimal expenses = expenseMap.get(key);
-                
-                trends.add(new MonthlyTrendDto(year, month, income, expenses));
+        for (Map.Entry<YearMonth, Map<TransactionType, Money>> entry : monthlyTotals.entrySet()) {
+            Money income = entry.getValue().get(TransactionType.INCOME);
+            Money expenses = entry.getValue().get(TransactionType.EXPENSE);
+            if (income == null && expenses == null) {
+                continue;
             }
+            YearMonth month = entry.getKey();
+            trends.add(new MonthlyTrendDto(month.getYear(), month.getMonthValue(),
+                income != null ? income.toBigDecimal() : BigDecimal.ZERO,
+                expenses != null ? expenses.toBigDecimal() : BigDecimal.ZERO));
         }
-        
-        // Sort by year and month
-        trends.sort((a, b) -> {
-            int yearCompare = a.getYear().compareTo(b.getYear());
-            if (yearCompare != 0) return yearCompare;
-            return a.getMonth().compareTo(b.getMonth());
-        });
-        
         return trends;
     }
     
+    /**
+     * Income and expenses per period of the given granularity over [startDate, endDate],
+     * with a zero entry for every period without transactions.
+     */
+    public List<TrendPointDto> getTrendsForUser(User user, TimeSeries.Granularity granularity,
+                                                LocalDate startDate, LocalDate endDate) {
+        TimeSeries series = transactionRollupService.getTimeSeries(user.getId(), granularity, startDate, endDate);
+        List<TrendPointDto> points = new ArrayList<>(series.size());
+        for (int i = 0; i < series.size(); i++) {
+            points.add(new TrendPointDto(series.getPeriodStart(i), series.getIncome(i), series.getExpenses(i)));
+        }
+        return points;
+    }
+    
     public List<CategorySummaryDto> getTopExpenseCategories(int limit) {
-        User currentUser = SecurityUtil.getCurrentUser();
+        return getTopExpenseCategoriesForUser(SecurityUtil.getCurrentUser(), limit);
+    }
+    
+    public List<CategorySummaryDto> getTopExpenseCategoriesForUser(User user, int limit) {
         LocalDate startDate = LocalDate.now().minusMonths(12);
         LocalDate endDate = LocalDate.now();
-        
-        List<CategorySummaryDto> categories = getCategorySummaryForUser(currentUser, TransactionType.EXPENSE, startDate, endDate);
+        return getTopExpenseCategories(getTotalsForUser(user, startDate, endDate), limit);
+    }
+    
+    /**
+     * Largest expense categories among totals loaded for the last 12 months.
+     */
+    public List<CategorySummaryDto> getTopExpenseCategories(List<RollupTotal> totals, int limit) {
+        List<CategorySummaryDto> categories = toCategorySummaries(totals, TransactionType.EXPENSE);
         return categories.stream()
                 .sorted((a, b) -> b.getTotalAmount().abs().compareTo(a.getTotalAmount().abs()))
                 .limit(limit)
@@ -202,12 +280,20 @@ public class FinancialStatisticsService {
     }
     
     public BigDecimal getAverageMonthlyExpenses(int months) {
-        User currentUser = SecurityUtil.getCurrentUser();
+        return getAverageMonthlyExpensesForUser(SecurityUtil.getCurrentUser(), months);
+    }
+    
+    public BigDecimal getAverageMonthlyExpensesForUser(User user, int months) {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusMonths(months);
-        
-        BigDecimal totalExpenses = getTotalByTypeForUser(currentUser, TransactionType.EXPENSE, startDate, endDate);
-        return totalExpenses.abs().divide(BigDecimal.valueOf(months), 2, RoundingMode.HALF_UP);
+        return getAverageMonthlyExpenses(getTotalsForUser(user, startDate, endDate), months);
+    }
+    
+    /**
+     * Average monthly expenses over totals loaded for the last {@code months} months.
+     */
+    public BigDecimal getAverageMonthlyExpenses(List<RollupTotal> totals, int months) {
+        return sumByType(totals, TransactionType.EXPENSE).abs().divideRoundingHalfUp(months).toBigDecimal();
     }
     
     public List<BudgetComparisonDto> getBudgetComparison() {
@@ -221,13 +307,21 @@ public class FinancialStatisticsService {
     
     public List<BudgetComparisonDto> getBudgetComparisonForPeriod(LocalDate startDate, LocalDate endDate) {
         User currentUser = SecurityUtil.getCurrentUser();
+        return getBudgetComparison(currentUser, getTotalsForUser(currentUser, startDate, endDate));
+    }
+    
+    /**
+     * Budget against actual spending, given the user's totals for the budget period.
+     */
+    public List<BudgetComparisonDto> getBudgetComparison(User currentUser, List<RollupTotal> totals) {
         List<BudgetComparisonDto> budgetComparisons = new ArrayList<>();
         
         // Get available categories for the user (system + user categories)
         List<Category> categories = categoryRepository.findAvailableCategoriesForUser(currentUser);
+        Map<Long, BigDecimal> budgets = userCategoryBudgetService.getEffectiveBudgetsForUser(currentUser);
         
         // Get actual spending for the period by category
-        List<CategorySummaryDto> actualSpending = getCategorySummaryForUser(currentUser, TransactionType.EXPENSE, startDate, endDate);
+        List<CategorySummaryDto> actualSpending = toCategorySummaries(totals, TransactionType.EXPENSE);
         Map<String, BigDecimal> actualSpendingMap = new HashMap<>();
         for (CategorySummaryDto spending : actualSpending) {
             actualSpendingMap.put(spending.getCategoryName(), spending.getTotalAmount().abs());
@@ -235,7 +329,7 @@ public class FinancialStatisticsService {
         
         // Create budget comparison for each category with a budget
         for (Category category : categories) {
-            BigDecimal userBudget = userCategoryBudgetService.getBudgetForUserAndCategory(currentUser, category);
+            BigDecimal userBudget = budgets.getOrDefault(category.getId(), BigDecimal.ZERO);
             if (userBudget != null && userBudget.compareTo(BigDecimal.ZERO) > 0) {
                 BigDecimal actualAmount = actualSpendingMap.getOrDefault(category.getName(), BigDecimal.ZERO);
                 BudgetComparisonDto comparison = new BudgetComparisonDto(
@@ -252,44 +346,22 @@ public class FinancialStatisticsService {
     }
 
     public List<HeatmapDataDto> getExpenseHeatmapData(LocalDate startDate, LocalDate endDate) {
-        User currentUser = SecurityUtil.getCurrentUser();
+        return getExpenseHeatmapDataForUser(SecurityUtil.getCurrentUser(), startDate, endDate);
+    }
+    
+    public List<HeatmapDataDto> getExpenseHeatmapDataForUser(User currentUser, LocalDate startDate, LocalDate endDate) {
         logger.info("Generating expense heatmap data from {} to {} for user: {}", startDate, endDate, currentUser.getUsername());
         
-        List<Object[]> results = transactionRepository.findExpenseHeatmapDataByUser(currentUser.getId(), TransactionType.EXPENSE.name(), startDate, endDate);
+        SortedMap<String, BigDecimal[]> totals = transactionRollupService.getDayOfWeekTotals(currentUser.getId(),
+            TransactionType.EXPENSE, startDate, endDate);
         List<HeatmapDataDto> heatmapData = new ArrayList<>();
-        
-        // Map to convert PostgreSQL EXTRACT(DOW) values (0=Sunday, 1=Monday, ..., 6=Saturday) to day names
-        // This is compatible with both PostgreSQL and H2 when using EXTRACT(DOW FROM date)
-        Map<Integer, String> dayMap = new HashMap<>();
-        dayMap.put(0, "Sunday");
-        dayMap.put(1, "Monday");
-        dayMap.put(2, "Tuesday");
-        dayMap.put(3, "Wednesday");
-        dayMap.put(4, "Thursday");
-        dayMap.put(5, "Friday");
-        dayMap.put(6, "Saturday");
-        
-        for (Object[] result : results) {
-            String categoryName = (String) result[0];
-            
-            // Handle both Integer and BigDecimal types for day of week (H2 database compatibility)
-            Integer dayOfWeekNum;
-            if (result[1] instanceof BigDecimal) {
-                dayOfWeekNum = ((BigDecimal) result[1]).intValue();
-            } else if (result[1] instanceof Integer) {
-                dayOfWeekNum = (Integer) result[1];
-            } else {
-                // Fallback for other numeric types
-                dayOfWeekNum = ((Number) result[1]).intValue();
-            }
-            
-            BigDecimal amount = (BigDecimal) result[2];
-            
-            String dayOfWeek = dayMap.get(dayOfWeekNum);
-            if (dayOfWeek != null) {
-                // Ensure amount is positive for heatmap display
-                BigDecimal positiveAmount = amount.abs();
-                heatmapData.add(new HeatmapDataDto(categoryName, dayOfWeek, positiveAmount));
+        for (Map.Entry<String, BigDecimal[]> category : totals.entrySet()) {
+            for (DayOfWeek day : HEATMAP_DAYS) {
+                BigDecimal amount = category.getValue()[day.getValue() - 1];
+                if (amount != null) {
+                    // Ensure amount is positive for heatmap display
+                    heatmapData.add(new HeatmapDataDto(category.getKey(), DAY_NAMES[day.getValue() - 1], amount.abs()));
+                }
             }
         }
         
@@ -297,9 +369,13 @@ public class FinancialStatisticsService {
     }
     
     public List<HeatmapDataDto> getExpenseHeatmapDataLastYear() {
+        return getExpenseHeatmapDataLastYearForUser(SecurityUtil.getCurrentUser());
+    }
+    
+    public List<HeatmapDataDto> getExpenseHeatmapDataLastYearForUser(User user) {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusYears(1);
-        return getExpenseHeatmapData(startDate, endDate);
+        return getExpenseHeatmapDataForUser(user, startDate, endDate);
     }
     
     // Keep original methods for backward compatibility (they will use current authenticated user)
@@ -0,0 +1,106 @@
+package com.finance.dashboard.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * State of one asynchronous Excel import, kept in memory by {@link ImportJobService}.
+ */
+public class ImportJob {
+    
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+    
+    private final String id;
+    private final Long userId;
+    private final String filename;
+    private final Instant createdAt = Instant.now();
+    private final ImportProgress progress = new ImportProgress();
+    
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String errorMessage;
+    
+    public ImportJob(String id, Long userId, String filename) {
+        this.id = id;
+        this.userId = userId;
+        this.filename = filename;
+    }
+    
+    void markRunning() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+    
+    void markCompleted() {
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+    
+    void markFailed(String message) {
+        errorMessage = message;
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+    
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+    
+    /**
+     * Time spent processing so far (or in total, once finished).
+     */
+    public Duration getElapsed() {
+        if (startedAt == null) {
+            return Duration.ZERO;
+        }
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        return Duration.between(startedAt, end);
+    }
+    
+    /**
+     * Rows read from the file per second of processing time.
+     */
+    public double getRowsPerSecond() {
+        long millis = getElapsed().toMillis();
+        return millis > 0 ? progress.getRowsParsed() * 1000.0 / millis : 0.0;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public String getFilename() {
+        return filename;
+    }
+    
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+    
+    public ImportProgress getProgress() {
+        return progress;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+    
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+}
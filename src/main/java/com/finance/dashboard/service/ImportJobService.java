@@ -0,0 +1,111 @@
+package com.finance.dashboard.service;
+
+import com.finance.dashboard.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs Excel imports in the background on the bounded importJobExecutor pool and keeps
+ * their progress in memory so clients can poll it. Finished jobs are dropped after
+ * app.import.job-retention-minutes.
+ */
+@Service
+public class ImportJobService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobService.class);
+    
+    private final ExcelProcessingService excelProcessingService;
+    private final TaskExecutor importJobExecutor;
+    private final Duration jobRetention;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    
+    public ImportJobService(ExcelProcessingService excelProcessingService,
+                            @Qualifier("importJobExecutor") TaskExecutor importJobExecutor,
+                            @Value("${app.import.job-retention-minutes:60}") long jobRetentionMinutes) {
+        this.excelProcessingService = excelProcessingService;
+        this.importJobExecutor = importJobExecutor;
+        this.jobRetention = Duration.ofMinutes(jobRetentionMinutes);
+    }
+    
+    /**
+     * Copy the upload to a temporary file (the multipart file is gone once the request ends)
+     * and queue it for processing.
+     *
+     * @throws IllegalStateException if the import queue is full
+     */
+    public ImportJob submit(MultipartFile file, User user) throws IOException {
+        purgeFinishedJobs();
+        
+        Path tempFile = Files.createTempFile("excel-import-", ".xlsx");
+        try {
+            file.transferTo(tempFile);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), user.getId(), file.getOriginalFilename());
+        jobs.put(job.getId(), job);
+        
+        try {
+            importJobExecutor.execute(() -> run(job, tempFile, user));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            Files.deleteIfExists(tempFile);
+            throw new IllegalStateException("Too many imports in progress, please try again later");
+        }
+        
+        logger.info("Queued import job {} for file: {} and user: {}", job.getId(), job.getFilename(), user.getUsername());
+        return job;
+    }
+    
+    /**
+     * Jobs are only visible to the user who started them.
+     */
+    public Optional<ImportJob> getJob(String jobId, User user) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null || !job.getUserId().equals(user.getId())) {
+            return Optional.empty();
+        }
+        return Optional.of(job);
+    }
+    
+    private void run(ImportJob job, Path file, User user) {
+        job.markRunning();
+        try {
+            excelProcessingService.importExcelFile(file, job.getFilename(), user, job.getProgress());
+            job.markCompleted();
+            logger.info("Import job {} completed in {} ms", job.getId(), job.getElapsed().toMillis());
+        } catch (Exception e) {
+            logger.error("Import job {} failed: {}", job.getId(), e.getMessage(), e);
+            job.markFailed(e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Could not delete temporary import file {}: {}", file, e.getMessage());
+            }
+        }
+    }
+    
+    private void purgeFinishedJobs() {
+        Instant cutoff = Instant.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+}
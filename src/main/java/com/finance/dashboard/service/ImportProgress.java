@@ -0,0 +1,56 @@
+package com.finance.dashboard.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Row counters for a running import. Updated by the import thread and read concurrently
+ * by status requests.
+ */
+public class ImportProgress {
+    
+    private final AtomicLong rowsParsed = new AtomicLong();
+    private final AtomicLong rowsSaved = new AtomicLong();
+    private final AtomicLong rowsSkipped = new AtomicLong();
+    private final AtomicLong rowsFailed = new AtomicLong();
+    private final AtomicLong rowsDuplicate = new AtomicLong();
+    
+    public void rowParsed() {
+        rowsParsed.incrementAndGet();
+    }
+    
+    public void rowsSaved(int count) {
+        rowsSaved.addAndGet(count);
+    }
+    
+    public void rowSkipped() {
+        rowsSkipped.incrementAndGet();
+    }
+    
+    public void rowFailed() {
+        rowsFailed.incrementAndGet();
+    }
+    
+    public void rowsDuplicate(int count) {
+        rowsDuplicate.addAndGet(count);
+    }
+    
+    public long getRowsParsed() {
+        return rowsParsed.get();
+    }
+    
+    public long getRowsSaved() {
+        return rowsSaved.get();
+    }
+    
+    public long getRowsSkipped() {
+        return rowsSkipped.get();
+    }
+    
+    public long getRowsFailed() {
+        return rowsFailed.get();
+    }
+    
+    public long getRowsDuplicate() {
+        return rowsDuplicate.get();
+    }
+}
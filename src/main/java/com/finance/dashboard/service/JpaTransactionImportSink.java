@@ -0,0 +1,28 @@
+package com.finance.dashboard.service;
+
+import com.finance.dashboard.model.Transaction;
+import jakarta.persistence.EntityManager;
+
+import java.util.List;
+
+/**
+ * Default sink: persists through JPA so the inserts are grouped into JDBC batches
+ * (hibernate.jdbc.batch_size), then clears the persistence context to keep memory bounded.
+ */
+public class JpaTransactionImportSink implements TransactionImportSink {
+    
+    private final EntityManager entityManager;
+    
+    public JpaTransactionImportSink(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+    
+    @Override
+    public void write(List<Transaction> chunk) {
+        for (Transaction transaction : chunk) {
+            entityManager.persist(transaction);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
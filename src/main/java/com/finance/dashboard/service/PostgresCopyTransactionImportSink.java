@@ -0,0 +1,145 @@
+package com.finance.dashboard.service;
+
+import com.finance.dashboard.model.Transaction;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Streams imported transactions into the transactions table with PostgreSQL's
+ * {@code COPY ... FROM STDIN (FORMAT csv)}, on the connection bound to the current
+ * transaction.
+ * <p>
+ * Ids are reserved from {@link Transaction#ID_SEQUENCE} the same way Hibernate's pooled
+ * optimizer does it: each {@code nextval} reserves the block (value - allocationSize, value],
+ * clipped at 1 for the sequence's start value, so rows written here never collide with ids
+ * handed out by JPA.
+ */
+public class PostgresCopyTransactionImportSink implements TransactionImportSink {
+    
+    private static final String COPY_SQL = "COPY transactions (id, date, description, amount, type, category_id, user_id, reference, fingerprint) "
+            + "FROM STDIN WITH (FORMAT csv)";
+    
+    private static final String RESERVE_IDS_SQL = "SELECT nextval('" + Transaction.ID_SEQUENCE + "') FROM generate_series(1, ?)";
+    
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    
+    private final DataSource dataSource;
+    
+    public PostgresCopyTransactionImportSink(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+    
+    @Override
+    public void write(List<Transaction> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            assignIds(connection, chunk);
+            copy(connection, chunk);
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("COPY into transactions failed: " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+    
+    private void assignIds(Connection connection, List<Transaction> chunk) throws SQLException {
+        int index = 0;
+        try (PreparedStatement statement = connection.prepareStatement(RESERVE_IDS_SQL)) {
+            // A block can hold fewer ids than the allocation size, so reserve until every row has one
+            while (index < chunk.size()) {
+                int remaining = chunk.size() - index;
+                statement.setInt(1, (remaining + Transaction.ID_ALLOCATION_SIZE - 1) / Transaction.ID_ALLOCATION_SIZE);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next() && index < chunk.size()) {
+                        long last = rs.getLong(1);
+                        // A fresh sequence first returns its start value 1, whose block would reach
+                        // below 1. Like the pooled optimizer, use only the ids from 1 up.
+                        long id = Math.max(last - Transaction.ID_ALLOCATION_SIZE + 1, 1);
+                        for (; id <= last && index < chunk.size(); id++) {
+                            chunk.get(index++).setId(id);
+                        }
+                    }
+                }
+            }
+        }
+    }
+    
+    private void copy(Connection connection, List<Transaction> chunk) throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+        try {
+            StringBuilder buffer = new StringBuilder(WRITE_BUFFER_SIZE);
+            for (Transaction transaction : chunk) {
+                appendRow(buffer, transaction);
+                if (buffer.length() >= WRITE_BUFFER_SIZE) {
+                    writeBuffer(copyIn, buffer);
+                }
+            }
+            writeBuffer(copyIn, buffer);
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+    
+    private void writeBuffer(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.length() > 0) {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+    
+    private void appendRow(StringBuilder row, Transaction transaction) {
+        row.append(transaction.getId()).append(',');
+        row.append(transaction.getDate()).append(',');
+        appendQuoted(row, transaction.getDescription());
+        row.append(',');
+        row.append(transaction.getAmount().toPlainString()).append(',');
+        row.append(transaction.getType() != null ? transaction.getType().name() : "").append(',');
+        if (transaction.getCategory() != null) {
+            row.append(transaction.getCategory().getId());
+        }
+        row.append(',');
+        row.append(transaction.getUser().getId()).append(',');
+        appendQuoted(row, transaction.getReference());
+        row.append(',');
+        if (transaction.getFingerprint() != null) {
+            row.append(transaction.getFingerprint());
+        }
+        row.append('\n');
+    }
+    
+    /**
+     * Strings are always quoted so that an empty string is not read back as NULL;
+     * a null value is written as an unquoted empty field.
+     */
+    private void appendQuoted(StringBuilder row, String value) {
+        if (value == null) {
+            return;
+        }
+        row.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                row.append('"');
+            }
+            row.append(c);
+        }
+        row.append('"');
+    }
+}
@@ -0,0 +1,32 @@
+package com.finance.dashboard.service;
+
+import com.finance.dashboard.model.TransactionType;
+import com.finance.dashboard.util.Money;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Everything the financial summary needs from the rollups: per-category totals for the
+ * requested range and per-type totals for every month of the user's history.
+ */
+public class RollupSummary {
+    
+    private final List<RollupTotal> totals;
+    private final SortedMap<YearMonth, Map<TransactionType, Money>> monthlyTotals;
+    
+    public RollupSummary(List<RollupTotal> totals, SortedMap<YearMonth, Map<TransactionType, Money>> monthlyTotals) {
+        this.totals = totals;
+        this.monthlyTotals = monthlyTotals;
+    }
+    
+    public List<RollupTotal> getTotals() {
+        return totals;
+    }
+    
+    public SortedMap<YearMonth, Map<TransactionType, Money>> getMonthlyTotals() {
+        return monthlyTotals;
+    }
+}
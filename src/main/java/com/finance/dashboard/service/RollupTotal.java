@@ -0,0 +1,58 @@
+package com.finance.dashboard.service;
+
+import com.finance.dashboard.model.TransactionType;
+import com.finance.dashboard.util.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * Total and count of a user's transactions for one category and type over a date range,
+ * as read from the rollup tables. {@code categoryId} and {@code categoryName} are
+ * {@code null} for uncategorized transactions.
+ */
+public class RollupTotal {
+    
+    private final Long categoryId;
+    private final String categoryName;
+    private final TransactionType type;
+    private Money total;
+    private long transactionCount;
+    
+    public RollupTotal(Long categoryId, String categoryName, TransactionType type,
+                       Money total, long transactionCount) {
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.type = type;
+        this.total = total;
+        this.transactionCount = transactionCount;
+    }
+    
+    void add(Money amount, long count) {
+        this.total = this.total.plus(amount);
+        this.transactionCount += count;
+    }
+    
+    public Long getCategoryId() {
+        return categoryId;
+    }
+    
+    public String getCategoryName() {
+        return categoryName;
+    }
+    
+    public TransactionType getType() {
+        return type;
+    }
+    
+    public Money getTotal() {
+        return total;
+    }
+    
+    public BigDecimal getTotalAmount() {
+        return total.toBigDecimal();
+    }
+    
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+}
@@ -0,0 +1,234 @@
+package com.finance.dashboard.service;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.springframework.stereotype.Component;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads the first sheet of an .xlsx workbook with POI's event API ({@link XSSFReader} + SAX),
+ * emitting one {@link ExcelRow} at a time. Only the shared-strings and styles tables are
+ * held in memory, so heap use does not grow with the number of rows.
+ */
+@Component
+public class StreamingExcelReader {
+
+    public void read(Path file, int columnCount, Consumer<ExcelRow> rowConsumer) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            SharedStrings sharedStrings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+            boolean date1904 = isDate1904(reader);
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new SheetHandler(sharedStrings, styles, columnCount, date1904, rowConsumer));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Unable to read Excel file: " + e.getMessage(), e);
+        }
+    }
+
+    private boolean isDate1904(XSSFReader reader) throws IOException, OpenXML4JException,
+            SAXException, ParserConfigurationException {
+        boolean[] date1904 = {false};
+        try (InputStream workbook = reader.getWorkbookData()) {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new DefaultHandler() {
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                    if ("workbookPr".equals(localName)) {
+                        String value = attributes.getValue("date1904");
+                        date1904[0] = "1".equals(value) || "true".equalsIgnoreCase(value);
+                    }
+                }
+            });
+            parser.parse(new InputSource(workbook));
+        }
+        return date1904[0];
+    }
+
+    /**
+     * SAX handler for a worksheet part. Keeps only the state of the row being read.
+     */
+    private static class SheetHandler extends DefaultHandler {
+
+        private final SharedStrings sharedStrings;
+        private final StylesTable styles;
+        private final int columnCount;
+        private final boolean date1904;
+        private final Consumer<ExcelRow> rowConsumer;
+        private final Map<Integer, Boolean> dateStyles = new HashMap<>();
+        private final StringBuilder value = new StringBuilder();
+
+        private int rowNum = -1;
+        private ExcelRow.Cell[] cells;
+        private int column;
+        private String cellType;
+        private int styleIndex;
+        private boolean hasValue;
+        private boolean collecting;
+        private boolean inInlineString;
+
+        SheetHandler(SharedStrings sharedStrings, StylesTable styles, int columnCount,
+                     boolean date1904, Consumer<ExcelRow> rowConsumer) {
+            this.sharedStrings = sharedStrings;
+            this.styles = styles;
+            this.columnCount = columnCount;
+            this.date1904 = date1904;
+            this.rowConsumer = rowConsumer;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row":
+                    String rowRef = attributes.getValue("r");
+                    rowNum = rowRef != null ? Integer.parseInt(rowRef) - 1 : rowNum + 1;
+                    cells = new ExcelRow.Cell[columnCount];
+                    column = -1;
+                    break;
+                case "c":
+                    String cellRef = attributes.getValue("r");
+                    column = cellRef != null ? columnIndex(cellRef) : column + 1;
+                    cellType = attributes.getValue("t");
+                    String style = attributes.getValue("s");
+                    styleIndex = style != null ? Integer.parseInt(style) : 0;
+                    hasValue = false;
+                    value.setLength(0);
+                    break;
+                case "v":
+                    collecting = true;
+                    value.setLength(0);
+                    break;
+                case "is":
+                    inInlineString = true;
+                    value.setLength(0);
+                    break;
+                case "t":
+                    // Rich inline strings split the text over several <t> runs
+                    collecting = inInlineString;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collecting) {
+                value.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v":
+                    collecting = false;
+                    hasValue = true;
+                    break;
+                case "t":
+                    if (inInlineString) {
+                        collecting = false;
+                        hasValue = true;
+                    }
+                    break;
+                case "is":
+                    inInlineString = false;
+                    break;
+                case "c":
+                    if (column >= 0 && column < columnCount) {
+                        cells[column] = buildCell();
+                    }
+                    break;
+                case "row":
+                    rowConsumer.accept(new ExcelRow(rowNum, cells, date1904));
+                    cells = null;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private ExcelRow.Cell buildCell() {
+            if (!hasValue) {
+                return ExcelRow.Cell.blank();
+            }
+            if (cellType == null || "n".equals(cellType)) {
+                double number;
+                try {
+                    number = Double.parseDouble(value.toString());
+                } catch (NumberFormatException e) {
+                    // Fail this row only, as the DOM reader does, instead of aborting the import
+                    return ExcelRow.Cell.of(CellType.ERROR);
+                }
+                return ExcelRow.Cell.numeric(number, isDateStyle(styleIndex) && DateUtil.isValidExcelDate(number));
+            }
+            switch (cellType) {
+                case "s":
+                    int index = Integer.parseInt(value.toString().trim());
+                    return ExcelRow.Cell.string(sharedStrings.getItemAt(index).getString());
+                case "inlineStr":
+                // Cached string result of a formula; ExcelRow.fromRow reads formula cells the same way
+                case "str":
+                    return ExcelRow.Cell.string(value.toString());
+                case "b":
+                    return ExcelRow.Cell.bool(value.length() > 0 && value.charAt(0) == '1');
+                case "e":
+                    return ExcelRow.Cell.of(CellType.ERROR);
+                default:
+                    return ExcelRow.Cell.blank();
+            }
+        }
+
+        private boolean isDateStyle(int index) {
+            if (styles == null) {
+                return false;
+            }
+            return dateStyles.computeIfAbsent(index, i -> {
+                XSSFCellStyle style = styles.getStyleAt(i);
+                return style != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+            });
+        }
+
+        private static int columnIndex(String cellRef) {
+            int column = 0;
+            for (int i = 0; i < cellRef.length(); i++) {
+                char c = cellRef.charAt(i);
+                if (c < 'A' || c > 'Z') {
+                    break;
+                }
+                column = column * 26 + (c - 'A' + 1);
+            }
+            return column - 1;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.finance.dashboard.service;
+
+import com.finance.dashboard.dto.TransactionRowDto;
+import com.finance.dashboard.model.TransactionType;
+import com.finance.dashboard.repository.TransactionRepository;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Writes a user's transactions as CSV or XLSX straight to an output stream. Rows come from a
+ * forward-only cursor of {@link TransactionRowDto} projections and are written as they are
+ * read, so heap use does not depend on the number of rows: the CSV writer keeps only its
+ * buffer and the XLSX writer only the last {@link #XLSX_ROW_WINDOW} rows (older ones are
+ * flushed to a temporary file by {@link SXSSFWorkbook}).
+ */
+@Service
+public class TransactionExportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TransactionExportService.class);
+    
+    private static final int XLSX_ROW_WINDOW = 100;
+    private static final String[] HEADERS = {"ID", "Date", "Description", "Category", "Type", "Amount", "Reference"};
+    
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    
+    public TransactionExportService(TransactionRepository transactionRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+    
+    public void writeCsv(Long userId, LocalDate startDate, LocalDate endDate, TransactionType type,
+                         Long categoryId, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(String.join(",", HEADERS));
+        writer.write("\r\n");
+        
+        long rows = forEachRow(userId, startDate, endDate, type, categoryId, row -> {
+            try {
+                writer.write(String.valueOf(row.getId()));
+                writer.write(',');
+                writer.write(String.valueOf(row.getDate()));
+                writer.write(',');
+                writer.write(csvText(row.getDescription()));
+                writer.write(',');
+                writer.write(csvText(row.getCategoryName()));
+                writer.write(',');
+                writer.write(row.getType() != null ? row.getType().name() : "");
+                writer.write(',');
+                writer.write(row.getAmount() != null ? row.getAmount().toPlainString() : "");
+                writer.write(',');
+                writer.write(csvText(row.getReference()));
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+        logger.info("Exported {} transactions as CSV for user {}", rows, userId);
+    }
+    
+    public void writeXlsx(Long userId, LocalDate startDate, LocalDate endDate, TransactionType type,
+                          Long categoryId, OutputStream outputStream) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd"));
+            CellStyle amountStyle = workbook.createCellStyle();
+            amountStyle.setDataFormat(workbook.createDataFormat().getFormat("#,##0.00"));
+            int lastRowIndex = SpreadsheetVersion.EXCEL2007.getLastRowIndex();
+            
+            // A sheet holds about a million rows; larger exports continue on further sheets
+            Sheet[] sheet = {createSheet(workbook, 1)};
+            int[] rowIndex = {1};
+            long rows = forEachRow(userId, startDate, endDate, type, categoryId, transaction -> {
+                if (rowIndex[0] > lastRowIndex) {
+                    sheet[0] = createSheet(workbook, workbook.getNumberOfSheets() + 1);
+                    rowIndex[0] = 1;
+                }
+                Row row = sheet[0].createRow(rowIndex[0]++);
+                row.createCell(0).setCellValue(transaction.getId());
+                if (transaction.getDate() != null) {
+                    row.createCell(1).setCellValue(transaction.getDate());
+                    row.getCell(1).setCellStyle(dateStyle);
+                }
+                row.createCell(2).setCellValue(transaction.getDescription());
+                row.createCell(3).setCellValue(transaction.getCategoryName());
+                row.createCell(4).setCellValue(transaction.getType() != null ? transaction.getType().name() : null);
+                if (transaction.getAmount() != null) {
+                    row.createCell(5).setCellValue(transaction.getAmount().doubleValue());
+                    row.getCell(5).setCellStyle(amountStyle);
+                }
+                row.createCell(6).setCellValue(transaction.getReference());
+            });
+            workbook.write(outputStream);
+            logger.info("Exported {} transactions as XLSX for user {}", rows, userId);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+    
+    /**
+     * Run the export cursor in a read-only transaction (PostgreSQL only streams with a fetch
+     * size inside one) and hand each row to the consumer. Returns the number of rows.
+     */
+    private long forEachRow(Long userId, LocalDate startDate, LocalDate endDate, TransactionType type,
+                            Long categoryId, Consumer<TransactionRowDto> consumer) throws IOException {
+        try {
+            Long rows = readOnlyTransactionTemplate.execute(status -> {
+                long count = 0;
+                try (Stream<TransactionRowDto> stream = transactionRepository.streamRowsForExport(
+                        userId, startDate, endDate, type, categoryId)) {
+                    for (TransactionRowDto row : (Iterable<TransactionRowDto>) stream::iterator) {
+                        consumer.accept(row);
+                        count++;
+                    }
+                }
+                return count;
+            });
+            return rows != null ? rows : 0;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+    
+    private static Sheet createSheet(SXSSFWorkbook workbook, int number) {
+        Sheet sheet = workbook.createSheet(number == 1 ? "Transactions" : "Transactions " + number);
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < HEADERS.length; i++) {
+            header.createCell(i).setCellValue(HEADERS[i]);
+        }
+        return sheet;
+    }
+    
+    /**
+     * Quote a text field when needed, and neutralise leading formula characters so the file
+     * cannot inject formulas into a spreadsheet that opens it.
+     */
+    private static String csvText(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@') {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
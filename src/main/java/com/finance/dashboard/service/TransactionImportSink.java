@@ -0,0 +1,15 @@
+package com.finance.dashboard.service;
+
+import com.finance.dashboard.model.Transaction;
+
+import java.util.List;
+
+/**
+ * Destination for imported transactions. Implementations insert a chunk of new rows inside
+ * the caller's transaction and assign their ids; user and category assignment is taken as-is
+ * from each {@link Transaction}.
+ */
+public interface TransactionImportSink {
+    
+    void write(List<Transaction> chunk);
+}
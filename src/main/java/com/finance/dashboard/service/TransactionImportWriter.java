@@ -0,0 +1,97 @@
+package com.finance.dashboard.service;
+
+import com.finance.dashboard.model.Transaction;
+import com.finance.dashboard.repository.TransactionRepository;
+import com.finance.dashboard.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Persists imported transactions one chunk at a time. Each chunk is written in its own
+ * transaction through the configured {@link TransactionImportSink} (batched JPA inserts or
+ * PostgreSQL COPY), so memory stays bounded by the chunk size. The chunk's totals are added
+ * to the rollups in the same transaction.
+ * <p>
+ * Rows whose fingerprint the user already has (from an earlier import of an overlapping
+ * file) are dropped first, with one probe query per chunk. The user row is locked before
+ * probing so that two concurrent imports for the same user cannot both insert a row.
+ */
+@Service
+public class TransactionImportWriter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TransactionImportWriter.class);
+    
+    private final TransactionImportSink transactionImportSink;
+    private final TransactionRollupService transactionRollupService;
+    private final DataVersionService dataVersionService;
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    
+    public TransactionImportWriter(TransactionImportSink transactionImportSink,
+                                   TransactionRollupService transactionRollupService,
+                                   DataVersionService dataVersionService,
+                                   TransactionRepository transactionRepository,
+                                   UserRepository userRepository) {
+        this.transactionImportSink = transactionImportSink;
+        this.transactionRollupService = transactionRollupService;
+        this.dataVersionService = dataVersionService;
+        this.transactionRepository = transactionRepository;
+        this.userRepository = userRepository;
+    }
+    
+    /**
+     * Insert the chunk's transactions that are not already stored. Returns the ones written
+     * (detached); the rest were duplicates of earlier imports.
+     */
+    @Transactional
+    public List<Transaction> writeChunk(List<Transaction> chunk) {
+        List<Transaction> fresh = new ArrayList<>(chunk.size());
+        Map<Long, List<Transaction>> byUser = chunk.stream()
+            .collect(Collectors.groupingBy(transaction -> transaction.getUser().getId()));
+        for (Map.Entry<Long, List<Transaction>> entry : byUser.entrySet()) {
+            userRepository.findByIdForUpdate(entry.getKey());
+            fresh.addAll(withoutStoredFingerprints(entry.getKey(), entry.getValue()));
+        }
+        if (fresh.isEmpty()) {
+            logger.debug("Skipped chunk of {} already imported transactions", chunk.size());
+            return fresh;
+        }
+        
+        transactionImportSink.write(fresh);
+        transactionRollupService.add(fresh);
+        fresh.stream()
+            .map(transaction -> transaction.getUser().getId())
+            .distinct()
+            .forEach(dataVersionService::bump);
+        logger.debug("Wrote {} of {} transactions in chunk", fresh.size(), chunk.size());
+        return fresh;
+    }
+    
+    private List<Transaction> withoutStoredFingerprints(Long userId, List<Transaction> transactions) {
+        Set<Long> fingerprints = new HashSet<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getFingerprint() != null) {
+                fingerprints.add(transaction.getFingerprint());
+            }
+        }
+        if (fingerprints.isEmpty()) {
+            return transactions;
+        }
+        Set<Long> stored = new HashSet<>(transactionRepository.findExistingFingerprints(userId, fingerprints));
+        if (stored.isEmpty()) {
+            return transactions;
+        }
+        return transactions.stream()
+            .filter(transaction -> transaction.getFingerprint() == null || !stored.contains(transaction.getFingerprint()))
+            .toList();
+    }
+}
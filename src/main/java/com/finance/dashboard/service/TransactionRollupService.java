@@ -0,0 +1,415 @@
+package com.finance.dashboard.service;
+
+import com.finance.dashboard.model.DailyTransactionRollup;
+import com.finance.dashboard.model.MonthlyTransactionRollup;
+import com.finance.dashboard.model.Transaction;
+import com.finance.dashboard.model.TransactionRollup;
+import com.finance.dashboard.model.TransactionType;
+import com.finance.dashboard.repository.DailyTransactionRollupRepository;
+import com.finance.dashboard.repository.MonthlyTransactionRollupRepository;
+import com.finance.dashboard.repository.TransactionRepository;
+import com.finance.dashboard.repository.TransactionRollupRepository;
+import com.finance.dashboard.repository.UserRepository;
+import com.finance.dashboard.util.Money;
+import com.finance.dashboard.util.TimeSeries;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Maintains the daily and monthly rollup tables and answers range totals from them.
+ * <p>
+ * Writes are applied as deltas in the caller's transaction, so the rollups commit or roll
+ * back together with the transactions they summarize. Concurrent writers for the same user
+ * are serialized by locking the user's row first.
+ */
+@Service
+public class TransactionRollupService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TransactionRollupService.class);
+    
+    private final DailyTransactionRollupRepository dailyRollupRepository;
+    private final MonthlyTransactionRollupRepository monthlyRollupRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final DataVersionService dataVersionService;
+    
+    public TransactionRollupService(DailyTransactionRollupRepository dailyRollupRepository,
+                                    MonthlyTransactionRollupRepository monthlyRollupRepository,
+                                    TransactionRepository transactionRepository,
+                                    UserRepository userRepository,
+                                    DataVersionService dataVersionService) {
+        this.dailyRollupRepository = dailyRollupRepository;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.transactionRepository = transactionRepository;
+        this.userRepository = userRepository;
+        this.dataVersionService = dataVersionService;
+    }
+    
+    /**
+     * Add newly inserted transactions to the rollups.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Collection<Transaction> transactions) {
+        apply(transactions, Collections.emptyList());
+    }
+    
+    /**
+     * Replace the contribution of {@code previous} (the persisted state before an update, or
+     * {@code null} for a new transaction) with that of {@code current}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void replace(Transaction previous, Transaction current) {
+        apply(List.of(current), previous != null ? List.of(previous) : Collections.emptyList());
+    }
+    
+    /**
+     * Take a deleted transaction out of the rollups.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(Transaction transaction) {
+        apply(Collections.emptyList(), List.of(transaction));
+    }
+    
+    private void apply(Collection<Transaction> added, Collection<Transaction> removed) {
+        Map<Long, Map<RollupKey, Delta>> dailyDeltasByUser = new HashMap<>();
+        collectDeltas(added, false, dailyDeltasByUser);
+        collectDeltas(removed, true, dailyDeltasByUser);
+        
+        for (Map.Entry<Long, Map<RollupKey, Delta>> entry : dailyDeltasByUser.entrySet()) {
+            Long userId = entry.getKey();
+            Map<RollupKey, Delta> dailyDeltas = entry.getValue();
+            
+            Map<RollupKey, Delta> monthlyDeltas = new HashMap<>();
+            for (Map.Entry<RollupKey, Delta> daily : dailyDeltas.entrySet()) {
+                RollupKey key = daily.getKey();
+                RollupKey monthKey = new RollupKey(key.categoryId(), key.type(), key.periodStart().withDayOfMonth(1));
+                monthlyDeltas.computeIfAbsent(monthKey, k -> new Delta()).add(daily.getValue());
+            }
+            
+            userRepository.findByIdForUpdate(userId);
+            applyDeltas(userId, dailyDeltas, dailyRollupRepository,
+                key -> new DailyTransactionRollup(userId, key.categoryId(), key.type(), key.periodStart()));
+            applyDeltas(userId, monthlyDeltas, monthlyRollupRepository,
+                key -> new MonthlyTransactionRollup(userId, key.categoryId(), key.type(), key.periodStart()));
+        }
+    }
+    
+    private void collectDeltas(Collection<Transaction> transactions, boolean negate,
+                               Map<Long, Map<RollupKey, Delta>> deltasByUser) {
+        for (Transaction transaction : transactions) {
+            BigDecimal amount = negate ? transaction.getAmount().negate() : transaction.getAmount();
+            RollupKey key = new RollupKey(categoryIdOf(transaction), transaction.getType(), transaction.getDate());
+            deltasByUser.computeIfAbsent(transaction.getUser().getId(), k -> new HashMap<>())
+                .computeIfAbsent(key, k -> new Delta())
+                .add(amount, negate ? -1 : 1);
+        }
+    }
+    
+    /**
+     * Load the existing rows covering the deltas in one query, adjust them in memory and let
+     * Hibernate batch the resulting inserts, updates and deletes.
+     */
+    private <R extends TransactionRollup> void applyDeltas(Long userId, Map<RollupKey, Delta> deltas,
+                                                           TransactionRollupRepository<R> repository,
+                                                           Function<RollupKey, R> factory) {
+        LocalDate minPeriod = null;
+        LocalDate maxPeriod = null;
+        for (RollupKey key : deltas.keySet()) {
+            if (minPeriod == null || key.periodStart().isBefore(minPeriod)) minPeriod = key.periodStart();
+            if (maxPeriod == null || key.periodStart().isAfter(maxPeriod)) maxPeriod = key.periodStart();
+        }
+        if (minPeriod == null) {
+            return;
+        }
+        
+        Map<RollupKey, R> existing = new HashMap<>();
+        for (R rollup : repository.findByUserIdAndPeriodStartBetween(userId, minPeriod, maxPeriod)) {
+            existing.put(new RollupKey(rollup.getCategoryId(), rollup.getType(), rollup.getPeriodStart()), rollup);
+        }
+        
+        List<R> changed = new ArrayList<>();
+        List<R> emptied = new ArrayList<>();
+        for (Map.Entry<RollupKey, Delta> entry : deltas.entrySet()) {
+            Delta delta = entry.getValue();
+            if (delta.count == 0 && delta.amount.signum() == 0) {
+                continue;
+            }
+            R rollup = existing.get(entry.getKey());
+            if (rollup == null) {
+                rollup = factory.apply(entry.getKey());
+            }
+            rollup.add(delta.amount, delta.count);
+            if (rollup.getTransactionCount() <= 0) {
+                if (rollup.getId() != null) {
+                    emptied.add(rollup);
+                }
+            } else {
+                changed.add(rollup);
+            }
+        }
+        repository.saveAll(changed);
+        repository.deleteAll(emptied);
+    }
+    
+    private static long categoryIdOf(Transaction transaction) {
+        return transaction.getCategory() != null && transaction.getCategory().getId() != null
+            ? transaction.getCategory().getId()
+            : TransactionRollup.NO_CATEGORY;
+    }
+    
+    /**
+     * Totals per category and type for transactions dated within [startDate, endDate].
+     * Whole months are read from the monthly rollups and only the partial months at either
+     * end from the daily rollups.
+     */
+    @Transactional(readOnly = true)
+    public List<RollupTotal> getTotals(Long userId, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            return new ArrayList<>();
+        }
+        
+        Map<RollupKey, RollupTotal> totals = new LinkedHashMap<>();
+        YearMonth firstFullMonth = firstFullMonth(startDate);
+        YearMonth lastFullMonth = lastFullMonth(endDate);
+        if (firstFullMonth.isAfter(lastFullMonth)) {
+            addTotals(totals, dailyRollupRepository.sumByCategoryAndType(userId, startDate, endDate));
+        } else {
+            addTotals(totals, monthlyRollupRepository.sumByCategoryAndType(userId,
+                firstFullMonth.atDay(1), lastFullMonth.atDay(1)));
+            addPartialMonthTotals(totals, userId, startDate, endDate, firstFullMonth, lastFullMonth);
+        }
+        return new ArrayList<>(totals.values());
+    }
+    
+    /**
+     * Range totals and whole-history monthly totals in one pass over the user's monthly
+     * rollups, plus at most one daily-rollup query for the partial months of the range.
+     */
+    @Transactional(readOnly = true)
+    public RollupSummary getSummary(Long userId, LocalDate startDate, LocalDate endDate) {
+        Map<RollupKey, RollupTotal> totals = new LinkedHashMap<>();
+        SortedMap<YearMonth, Map<TransactionType, Money>> monthlyTotals = new TreeMap<>();
+        boolean validRange = !startDate.isAfter(endDate);
+        YearMonth firstFullMonth = firstFullMonth(startDate);
+        YearMonth lastFullMonth = lastFullMonth(endDate);
+        
+        for (Object[] row : monthlyRollupRepository.findAllByUserWithCategoryName(userId)) {
+            YearMonth month = YearMonth.from((LocalDate) row[0]);
+            long categoryId = ((Number) row[1]).longValue();
+            String categoryName = (String) row[2];
+            TransactionType type = (TransactionType) row[3];
+            Money amount = Money.of((BigDecimal) row[4]);
+            long count = ((Number) row[5]).longValue();
+            
+            monthlyTotals.computeIfAbsent(month, k -> new EnumMap<>(TransactionType.class))
+                .merge(type, amount, Money::plus);
+            if (validRange && !month.isBefore(firstFullMonth) && !month.isAfter(lastFullMonth)) {
+                addTotal(totals, categoryId, categoryName, type, amount, count);
+            }
+        }
+        
+        if (validRange) {
+            if (firstFullMonth.isAfter(lastFullMonth)) {
+                addTotals(totals, dailyRollupRepository.sumByCategoryAndType(userId, startDate, endDate));
+            } else {
+                addPartialMonthTotals(totals, userId, startDate, endDate, firstFullMonth, lastFullMonth);
+            }
+        }
+        return new RollupSummary(new ArrayList<>(totals.values()), monthlyTotals);
+    }
+    
+    /**
+     * Monthly totals per type over the user's whole history.
+     */
+    @Transactional(readOnly = true)
+    public SortedMap<YearMonth, Map<TransactionType, Money>> getMonthlyTotals(Long userId) {
+        SortedMap<YearMonth, Map<TransactionType, Money>> monthlyTotals = new TreeMap<>();
+        for (Object[] row : monthlyRollupRepository.findMonthlyTotalsByUser(userId)) {
+            monthlyTotals.computeIfAbsent(YearMonth.from((LocalDate) row[0]), k -> new EnumMap<>(TransactionType.class))
+                .merge((TransactionType) row[1], Money.of((BigDecimal) row[2]), Money::plus);
+        }
+        return monthlyTotals;
+    }
+    
+    /**
+     * Totals of one transaction type per category name and day of week for transactions dated
+     * within [startDate, endDate], summed from the daily rollups. Each array is indexed by
+     * {@link DayOfWeek#getValue()} - 1 and holds null for days without transactions;
+     * uncategorized transactions are left out.
+     */
+    @Transactional(readOnly = true)
+    public SortedMap<String, BigDecimal[]> getDayOfWeekTotals(Long userId, TransactionType type,
+                                                             LocalDate startDate, LocalDate endDate) {
+        SortedMap<String, BigDecimal[]> totals = new TreeMap<>();
+        for (Object[] row : dailyRollupRepository.findCategoryDaysByType(userId, type, startDate, endDate)) {
+            BigDecimal[] days = totals.computeIfAbsent((String) row[0], k -> new BigDecimal[7]);
+            int day = ((LocalDate) row[1]).getDayOfWeek().getValue() - 1;
+            BigDecimal amount = (BigDecimal) row[2];
+            days[day] = days[day] != null ? days[day].add(amount) : amount;
+        }
+        return totals;
+    }
+    
+    /**
+     * Income and expense totals for [startDate, endDate] bucketed by the series' granularity.
+     * Day and week series read the daily rollups; coarser ones read whole months from the
+     * monthly rollups and only the partial months at either end from the daily rollups.
+     */
+    @Transactional(readOnly = true)
+    public TimeSeries getTimeSeries(Long userId, TimeSeries.Granularity granularity,
+                                    LocalDate startDate, LocalDate endDate) {
+        TimeSeries series = new TimeSeries(granularity, startDate, endDate);
+        YearMonth firstFullMonth = firstFullMonth(startDate);
+        YearMonth lastFullMonth = lastFullMonth(endDate);
+        boolean daily = granularity == TimeSeries.Granularity.DAY || granularity == TimeSeries.Granularity.WEEK;
+        
+        if (daily || firstFullMonth.isAfter(lastFullMonth)) {
+            addToSeries(series, dailyRollupRepository.sumByPeriodAndType(userId, startDate, endDate));
+            return series;
+        }
+        
+        addToSeries(series, monthlyRollupRepository.sumByPeriodAndType(userId,
+            firstFullMonth.atDay(1), lastFullMonth.atDay(1)));
+        boolean leadingDays = startDate.isBefore(firstFullMonth.atDay(1));
+        boolean trailingDays = endDate.isAfter(lastFullMonth.atEndOfMonth());
+        LocalDate leadingEnd = firstFullMonth.atDay(1).minusDays(1);
+        LocalDate trailingStart = lastFullMonth.atEndOfMonth().plusDays(1);
+        if (leadingDays && trailingDays) {
+            addToSeries(series, dailyRollupRepository.sumByPeriodAndType(userId,
+                startDate, leadingEnd, trailingStart, endDate));
+        } else if (leadingDays) {
+            addToSeries(series, dailyRollupRepository.sumByPeriodAndType(userId, startDate, leadingEnd));
+        } else if (trailingDays) {
+            addToSeries(series, dailyRollupRepository.sumByPeriodAndType(userId, trailingStart, endDate));
+        }
+        return series;
+    }
+    
+    private static void addToSeries(TimeSeries series, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            series.add((LocalDate) row[0], (TransactionType) row[1], (BigDecimal) row[2]);
+        }
+    }
+    
+    private static YearMonth firstFullMonth(LocalDate startDate) {
+        YearMonth month = YearMonth.from(startDate);
+        return startDate.getDayOfMonth() == 1 ? month : month.plusMonths(1);
+    }
+    
+    private static YearMonth lastFullMonth(LocalDate endDate) {
+        YearMonth month = YearMonth.from(endDate);
+        return endDate.equals(month.atEndOfMonth()) ? month : month.minusMonths(1);
+    }
+    
+    /**
+     * Add the days before the first and after the last full month, in a single daily query.
+     */
+    private void addPartialMonthTotals(Map<RollupKey, RollupTotal> totals, Long userId, LocalDate startDate,
+                                       LocalDate endDate, YearMonth firstFullMonth, YearMonth lastFullMonth) {
+        boolean leadingDays = startDate.isBefore(firstFullMonth.atDay(1));
+        boolean trailingDays = endDate.isAfter(lastFullMonth.atEndOfMonth());
+        if (!leadingDays && !trailingDays) {
+            return;
+        }
+        LocalDate leadingEnd = firstFullMonth.atDay(1).minusDays(1);
+        LocalDate trailingStart = lastFullMonth.atEndOfMonth().plusDays(1);
+        if (leadingDays && trailingDays) {
+            addTotals(totals, dailyRollupRepository.sumByCategoryAndType(userId,
+                startDate, leadingEnd, trailingStart, endDate));
+        } else if (leadingDays) {
+            addTotals(totals, dailyRollupRepository.sumByCategoryAndType(userId, startDate, leadingEnd));
+        } else {
+            addTotals(totals, dailyRollupRepository.sumByCategoryAndType(userId, trailingStart, endDate));
+        }
+    }
+    
+    private void addTotals(Map<RollupKey, RollupTotal> totals, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            addTotal(totals, ((Number) row[0]).longValue(), (String) row[1], (TransactionType) row[2],
+                Money.of((BigDecimal) row[3]), ((Number) row[4]).longValue());
+        }
+    }
+    
+    private void addTotal(Map<RollupKey, RollupTotal> totals, long categoryId, String categoryName,
+                          TransactionType type, Money amount, long count) {
+        RollupKey key = new RollupKey(categoryId, type, null);
+        RollupTotal total = totals.get(key);
+        if (total == null) {
+            boolean categorized = categoryId != TransactionRollup.NO_CATEGORY;
+            totals.put(key, new RollupTotal(categorized ? categoryId : null, categorized ? categoryName : null,
+                type, amount, count));
+        } else {
+            total.add(amount, count);
+        }
+    }
+    
+    /**
+     * Recompute a user's rollups from the transactions table. Bumps the user's data version,
+     * since cached dashboard results may have been computed from the old rollups.
+     */
+    @Transactional
+    public void rebuildForUser(Long userId) {
+        userRepository.findByIdForUpdate(userId);
+        dailyRollupRepository.deleteByUserId(userId);
+        monthlyRollupRepository.deleteByUserId(userId);
+        
+        List<DailyTransactionRollup> daily = new ArrayList<>();
+        Map<RollupKey, MonthlyTransactionRollup> monthly = new HashMap<>();
+        for (Object[] row : transactionRepository.findDailyTotalsByUserId(userId)) {
+            LocalDate date = (LocalDate) row[0];
+            long categoryId = row[1] != null ? ((Number) row[1]).longValue() : TransactionRollup.NO_CATEGORY;
+            TransactionType type = (TransactionType) row[2];
+            BigDecimal amount = (BigDecimal) row[3];
+            long count = ((Number) row[4]).longValue();
+            
+            DailyTransactionRollup day = new DailyTransactionRollup(userId, categoryId, type, date);
+            day.add(amount, count);
+            daily.add(day);
+            
+            RollupKey monthKey = new RollupKey(categoryId, type, date.withDayOfMonth(1));
+            monthly.computeIfAbsent(monthKey,
+                k -> new MonthlyTransactionRollup(userId, k.categoryId(), k.type(), k.periodStart()))
+                .add(amount, count);
+        }
+        dailyRollupRepository.saveAll(daily);
+        monthlyRollupRepository.saveAll(monthly.values());
+        dataVersionService.bump(userId);
+        logger.info("Rebuilt rollups for user {}: {} daily, {} monthly rows", userId, daily.size(), monthly.size());
+    }
+    
+    private record RollupKey(long categoryId, TransactionType type, LocalDate periodStart) {
+    }
+    
+    private static class Delta {
+        private BigDecimal amount = BigDecimal.ZERO;
+        private long count;
+        
+        void add(BigDecimal amount, long count) {
+            this.amount = this.amount.add(amount);
+            this.count += count;
+        }
+        
+        void add(Delta other) {
+            add(other.amount, other.count);
+        }
+    }
+}
@@ -18,10 +18,16 @@ public class TransactionService {
     private static final Logger logger = LoggerFactory.getLogger(TransactionService.class);
     
     private final TransactionRepository transactionRepository;
+    private final TransactionRollupService transactionRollupService;
+    private final DataVersionService dataVersionService;
     
     @Autowired
-    public TransactionService(TransactionRepository transactionRepository) {
+    public TransactionService(TransactionRepository transactionRepository,
+                              TransactionRollupService transactionRollupService,
+                              DataVersionService dataVersionService) {
         this.transactionRepository = transactionRepository;
+        this.transactionRollupService = transactionRollupService;
+        this.dataVersionService = dataVersionService;
     }
     
     /**
@@ -56,7 +62,11 @@ public class TransactionService {
             validateTransaction(transaction);
             
             logger.debug("Saving transaction: {}", transaction);
+            Transaction previousState = transaction.getPersistedState();
             Transaction savedTransaction = transactionRepository.save(transaction);
+            transactionRollupService.replace(previousState, savedTransaction);
+            savedTransaction.capturePersistedState();
+            dataVersionService.bump(savedTransaction.getUser().getId());
             logger.info("Successfully saved transaction with ID: {}", savedTransaction.getId());
             
             return savedTransaction;
@@ -82,12 +92,13 @@ public class TransactionService {
                 throw new IllegalArgumentException("Transaction ID cannot be null");
             }
             
-            if (!transactionRepository.existsById(id)) {
-                throw new IllegalArgumentException("Transaction not found with ID: " + id);
-            }
+            Transaction transaction = transactionRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Transaction not found with ID: " + id));
             
             logger.debug("Deleting transaction with ID: {}", id);
-            transactionRepository.deleteById(id);
+            transactionRepository.delete(transaction);
+            transactionRollupService.remove(transaction.getPersistedState());
+            dataVersionService.bump(transaction.getUser().getId());
             logger.info("Successfully deleted transaction with ID: {}", id);
             
         } catch (IllegalArgumentException e) {
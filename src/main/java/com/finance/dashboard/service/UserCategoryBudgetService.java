@@ -10,7 +10,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -20,9 +22,12 @@ public class UserCategoryBudgetService {
     private static final Logger logger = LoggerFactory.getLogger(UserCategoryBudgetService.class);
     
     private final UserCategoryBudgetRepository userCategoryBudgetRepository;
+    private final DataVersionService dataVersionService;
     
-    public UserCategoryBudgetService(UserCategoryBudgetRepository userCategoryBudgetRepository) {
+    public UserCategoryBudgetService(UserCategoryBudgetRepository userCategoryBudgetRepository,
+                                     DataVersionService dataVersionService) {
         this.userCategoryBudgetRepository = userCategoryBudgetRepository;
+        this.dataVersionService = dataVersionService;
     }
     
     /**
@@ -41,6 +46,22 @@ public class UserCategoryBudgetService {
         }
     }
     
+    /**
+     * Effective budgets of every category available to the user, keyed by category id, in a
+     * single query. Categories without a budget map to zero. Use this instead of calling
+     * {@link #getBudgetForUserAndCategory} once per category.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> getEffectiveBudgetsForUser(User user) {
+        List<Object[]> rows = userCategoryBudgetRepository.findEffectiveBudgetsByUserId(user.getId());
+        Map<Long, BigDecimal> budgets = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            BigDecimal budget = (BigDecimal) row[1];
+            budgets.put((Long) row[0], budget != null ? budget : BigDecimal.ZERO);
+        }
+        return budgets;
+    }
+    
     /**
      * Set or update the budget for a user and category.
      */
@@ -54,12 +75,16 @@ public class UserCategoryBudgetService {
                 userBudget.setMonthlyBudget(budget);
                 logger.info("Updated budget for user {} and system category {}: {}", 
                     user.getId(), category.getName(), budget);
-                return userCategoryBudgetRepository.save(userBudget);
+                UserCategoryBudget saved = userCategoryBudgetRepository.save(userBudget);
+                dataVersionService.bump(user.getId());
+                return saved;
             } else {
                 UserCategoryBudget newUserBudget = new UserCategoryBudget(user, category, budget);
                 logger.info("Created new budget for user {} and system category {}: {}", 
                     user.getId(), category.getName(), budget);
-                return userCategoryBudgetRepository.save(newUserBudget);
+                UserCategoryBudget saved = userCategoryBudgetRepository.save(newUserBudget);
+                dataVersionService.bump(user.getId());
+                return saved;
             }
         } else {
             // For user categories, update the category's budget directly
@@ -85,6 +110,7 @@ public class UserCategoryBudgetService {
             Optional<UserCategoryBudget> existingBudget = userCategoryBudgetRepository.findByUserAndCategory(user, category);
             if (existingBudget.isPresent()) {
                 userCategoryBudgetRepository.delete(existingBudget.get());
+                dataVersionService.bump(user.getId());
                 logger.info("Removed budget for user {} and system category {}", 
                     user.getId(), category.getName());
             }
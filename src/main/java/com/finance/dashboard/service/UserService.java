@@ -2,6 +2,7 @@ package com.finance.dashboard.service;
 
 import com.finance.dashboard.model.User;
 import com.finance.dashboard.repository.UserRepository;
+import com.finance.dashboard.security.AuthenticatedUserCache;
 import org.springframework.beans.factory.annotation.Autowired;
 // ...existing imports...
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -21,6 +22,9 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private AuthenticatedUserCache authenticatedUserCache;
+    
     // ...existing code...
     
     public User createUser(String username, String email, String password, String firstName, String lastName) {
@@ -65,10 +69,14 @@ public class UserService {
     
     public User updateLastLogin(User user) {
         user.setLastLoginAt(LocalDateTime.now());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        authenticatedUserCache.invalidate(saved.getUsername());
+        return saved;
     }
     
     public User updateUser(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        authenticatedUserCache.invalidate(saved.getUsername());
+        return saved;
     }
 }
\ No newline at end of file
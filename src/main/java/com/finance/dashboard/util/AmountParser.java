@@ -0,0 +1,140 @@
+package com.finance.dashboard.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Parses decimal amounts from text in a single pass, accumulating the digits into an unscaled
+ * {@code long} plus a scale instead of going through regexes and intermediate strings.
+ * <p>
+ * Accepted forms: {@code 1234.56}, {@code 1,234.56}, {@code 1.234,56}, {@code 12,50},
+ * {@code -12.00}, {@code +12}, {@code (12.00)} and {@code 12.00-} (the last two are negative).
+ * When both {@code .} and {@code ,} occur, the last one is the decimal separator. A lone
+ * {@code ,} is a grouping separator when exactly three digits follow it and a decimal
+ * separator otherwise; a lone {@code .} is always a decimal separator. Grouping separators
+ * are dropped wherever they sit between integer digits (so {@code 1,23,456} and
+ * {@code 1234,567} parse, as they did when imports simply stripped commas); only empty
+ * groups and grouping after the decimal separator are rejected.
+ */
+public final class AmountParser {
+
+    // Largest value that can take one more digit without overflowing
+    private static final long MAX_BEFORE_DIGIT = (Long.MAX_VALUE - 9) / 10;
+
+    private AmountParser() {
+    }
+
+    /**
+     * Returns the parsed amount, or {@code null} if the text is not a valid amount (including
+     * amounts with more than 18 significant digits).
+     */
+    public static BigDecimal parse(CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        int start = 0;
+        int end = text.length();
+        while (start < end && isSpace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && isSpace(text.charAt(end - 1))) {
+            end--;
+        }
+        if (start == end) {
+            return null;
+        }
+
+        boolean negative = false;
+        char first = text.charAt(start);
+        if (first == '(') {
+            if (text.charAt(end - 1) != ')') {
+                return null;
+            }
+            negative = true;
+            start++;
+            end--;
+        } else if (first == '-' || first == '+') {
+            negative = first == '-';
+            start++;
+        } else if (text.charAt(end - 1) == '-') {
+            negative = true;
+            end--;
+        }
+        if (start == end) {
+            return null;
+        }
+
+        char decimalSeparator = decimalSeparator(text, start, end);
+        long unscaled = 0;
+        int scale = -1;        // -1 until the decimal separator is seen
+        int groupLength = 0;   // integer digits since the start or the last grouping separator
+
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (unscaled > MAX_BEFORE_DIGIT) {
+                    return null;
+                }
+                unscaled = unscaled * 10 + (c - '0');
+                if (scale >= 0) {
+                    scale++;
+                } else {
+                    groupLength++;
+                }
+            } else if (scale < 0 && (c == ',' || c == '.')) {
+                if (groupLength == 0) {
+                    return null;
+                }
+                if (c == decimalSeparator) {
+                    scale = 0;
+                }
+                groupLength = 0;
+            } else {
+                return null;
+            }
+        }
+
+        if (scale == 0) {
+            // Separator with no digits after it
+            return null;
+        }
+        if (scale < 0) {
+            if (groupLength == 0) {
+                // Trailing grouping separator
+                return null;
+            }
+            scale = 0;
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+    }
+
+    private static char decimalSeparator(CharSequence text, int start, int end) {
+        int lastDot = -1;
+        int lastComma = -1;
+        int dots = 0;
+        int commas = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.') {
+                lastDot = i;
+                dots++;
+            } else if (c == ',') {
+                lastComma = i;
+                commas++;
+            }
+        }
+        if (lastDot >= 0 && lastComma >= 0) {
+            return lastDot > lastComma ? '.' : ',';
+        }
+        if (dots > 1) {
+            return ',';
+        }
+        if (commas == 1 && end - lastComma - 1 != 3) {
+            return ',';
+        }
+        return '.';
+    }
+
+    private static boolean isSpace(char c) {
+        return Character.isWhitespace(c) || Character.isSpaceChar(c);
+    }
+}
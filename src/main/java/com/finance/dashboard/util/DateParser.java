@@ -0,0 +1,139 @@
+package com.finance.dashboard.util;
+
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses transaction dates from spreadsheet cells without throwing on bad input.
+ * <p>
+ * Excel serial numbers are converted arithmetically. Text is tried against a list of
+ * {@link DateTimeFormatter} patterns in order, using {@code parseUnresolved} and validating
+ * the fields by hand, so a pattern that does not match costs no exception. ISO patterns
+ * ({@code yyyy-MM-dd}) are matched by a hand-written scanner instead of a formatter.
+ * Instances are immutable and thread-safe.
+ */
+public class DateParser {
+
+    // Epoch days of Excel serial 0: 1899-12-31 (1900 system) and 1904-01-01 (1904 system)
+    private static final long EPOCH_DAY_OF_SERIAL_0_1900 = -25568;
+    private static final long EPOCH_DAY_OF_SERIAL_0_1904 = -24107;
+    // Excel treats 1900 as a leap year; serials after its phantom 29 February are one day ahead
+    private static final int FIRST_SERIAL_AFTER_PHANTOM_LEAP_DAY = 61;
+    // 9999-12-31 in the 1900 system
+    private static final double MAX_SERIAL = 2958466;
+    // Half a millisecond, matching POI's rounding of the time of day
+    private static final double HALF_MILLI_IN_DAYS = 0.5 / 86_400_000;
+
+    private final DateTimeFormatter[] formatters;
+
+    /**
+     * @param patterns {@link DateTimeFormatter} patterns, tried in order
+     * @throws IllegalArgumentException if a pattern is invalid
+     */
+    public DateParser(List<String> patterns) {
+        this.formatters = new DateTimeFormatter[patterns.size()];
+        for (int i = 0; i < formatters.length; i++) {
+            String pattern = patterns.get(i).trim();
+            // null marks the ISO fast path
+            formatters[i] = isIsoPattern(pattern) ? null : DateTimeFormatter.ofPattern(pattern, Locale.ROOT);
+        }
+    }
+
+    /**
+     * Date of an Excel serial number (the time of day is ignored), or {@code null} if it is
+     * outside the range Excel supports.
+     */
+    public static LocalDate fromExcelSerial(double serial, boolean date1904) {
+        if (!(serial >= 0) || serial >= MAX_SERIAL) {
+            return null;
+        }
+        long day = (long) (serial + HALF_MILLI_IN_DAYS);
+        if (date1904) {
+            return LocalDate.ofEpochDay(EPOCH_DAY_OF_SERIAL_0_1904 + day);
+        }
+        return LocalDate.ofEpochDay(EPOCH_DAY_OF_SERIAL_0_1900 + day
+            - (day >= FIRST_SERIAL_AFTER_PHANTOM_LEAP_DAY ? 1 : 0));
+    }
+
+    /**
+     * Returns the date of the first pattern that matches the whole (trimmed) text, or
+     * {@code null} if none does.
+     */
+    public LocalDate parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        String trimmed = text.trim();
+        for (DateTimeFormatter formatter : formatters) {
+            LocalDate date = formatter == null ? parseIso(trimmed) : parse(trimmed, formatter);
+            if (date != null) {
+                return date;
+            }
+        }
+        return null;
+    }
+
+    private static LocalDate parse(String text, DateTimeFormatter formatter) {
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor parsed = formatter.parseUnresolved(text, position);
+        if (parsed == null || position.getErrorIndex() >= 0 || position.getIndex() != text.length()) {
+            return null;
+        }
+        if (!parsed.isSupported(ChronoField.MONTH_OF_YEAR) || !parsed.isSupported(ChronoField.DAY_OF_MONTH)) {
+            return null;
+        }
+        long year;
+        if (parsed.isSupported(ChronoField.YEAR)) {
+            year = parsed.getLong(ChronoField.YEAR);
+        } else if (parsed.isSupported(ChronoField.YEAR_OF_ERA)) {
+            year = parsed.getLong(ChronoField.YEAR_OF_ERA);
+        } else {
+            return null;
+        }
+        return toDate(year, parsed.getLong(ChronoField.MONTH_OF_YEAR), parsed.getLong(ChronoField.DAY_OF_MONTH));
+    }
+
+    private static LocalDate parseIso(String text) {
+        if (text.length() != 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return null;
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+        if (year < 0 || month < 0 || day < 0) {
+            return null;
+        }
+        return toDate(year, month, day);
+    }
+
+    private static int digits(String text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static LocalDate toDate(long year, long month, long day) {
+        if (year < 1 || year > 9999 || month < 1 || month > 12 || day < 1
+                || day > Month.of((int) month).length(Year.isLeap(year))) {
+            return null;
+        }
+        return LocalDate.of((int) year, (int) month, (int) day);
+    }
+
+    private static boolean isIsoPattern(String pattern) {
+        return "yyyy-MM-dd".equals(pattern) || "uuuu-MM-dd".equals(pattern);
+    }
+}
@@ -0,0 +1,205 @@
+package com.finance.dashboard.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Aho-Corasick automaton over a fixed keyword table, so a text is scanned once no matter how
+ * many keywords there are. Matching is case-insensitive and substring based (like
+ * {@code String.contains}). Instances are immutable and thread-safe.
+ * <p>
+ * When several keywords occur, the longest one wins (it is the most specific); ties go to
+ * the keyword that starts first in the text.
+ */
+public class KeywordMatcher {
+
+    private static final int ROOT = 0;
+    private static final int NO_KEYWORD = -1;
+
+    // Per state: sorted transition characters and their target states
+    private final char[][] transitionChars;
+    private final int[][] transitionTargets;
+    private final int[] failure;
+    // Keyword ending exactly at this state, and the nearest state on the failure chain that ends a keyword
+    private final int[] keywordAt;
+    private final int[] outputLink;
+
+    private final int[] keywordLengths;
+    private final String[] keywords;
+    private final String[] values;
+
+    private KeywordMatcher(char[][] transitionChars, int[][] transitionTargets, int[] failure,
+                           int[] keywordAt, int[] outputLink, int[] keywordLengths, String[] keywords,
+                           String[] values) {
+        this.transitionChars = transitionChars;
+        this.transitionTargets = transitionTargets;
+        this.failure = failure;
+        this.keywordAt = keywordAt;
+        this.outputLink = outputLink;
+        this.keywordLengths = keywordLengths;
+        this.keywords = keywords;
+        this.values = values;
+    }
+
+    /**
+     * Compile a keyword → value table. Keywords are lower-cased; blank keywords are ignored.
+     */
+    public static KeywordMatcher compile(Map<String, String> keywordValues) {
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> terminal = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        terminal.add(NO_KEYWORD);
+
+        int[] keywordLengths = new int[keywordValues.size()];
+        String[] keywords = new String[keywordValues.size()];
+        String[] values = new String[keywordValues.size()];
+        int keywordIndex = 0;
+
+        for (Map.Entry<String, String> entry : keywordValues.entrySet()) {
+            String keyword = entry.getKey().toLowerCase();
+            if (keyword.isBlank()) {
+                continue;
+            }
+            int state = ROOT;
+            for (int i = 0; i < keyword.length(); i++) {
+                Integer next = trie.get(state).get(keyword.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    terminal.add(NO_KEYWORD);
+                    trie.get(state).put(keyword.charAt(i), next);
+                }
+                state = next;
+            }
+            if (terminal.get(state) == NO_KEYWORD) {
+                terminal.set(state, keywordIndex);
+                keywordLengths[keywordIndex] = keyword.length();
+                keywords[keywordIndex] = keyword;
+                values[keywordIndex] = entry.getValue();
+                keywordIndex++;
+            }
+        }
+
+        int stateCount = trie.size();
+        char[][] transitionChars = new char[stateCount][];
+        int[][] transitionTargets = new int[stateCount][];
+        int[] keywordAt = new int[stateCount];
+        for (int state = 0; state < stateCount; state++) {
+            TreeMap<Character, Integer> children = trie.get(state);
+            transitionChars[state] = new char[children.size()];
+            transitionTargets[state] = new int[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> child : children.entrySet()) {
+                transitionChars[state][i] = child.getKey();
+                transitionTargets[state][i] = child.getValue();
+                i++;
+            }
+            keywordAt[state] = terminal.get(state);
+        }
+
+        // Breadth-first pass to compute failure and output links
+        int[] failure = new int[stateCount];
+        int[] outputLink = new int[stateCount];
+        Arrays.fill(outputLink, NO_KEYWORD);
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : transitionTargets[ROOT]) {
+            failure[child] = ROOT;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < transitionChars[state].length; i++) {
+                char c = transitionChars[state][i];
+                int child = transitionTargets[state][i];
+                int fallback = failure[state];
+                while (fallback != ROOT && next(transitionChars, transitionTargets, fallback, c) < 0) {
+                    fallback = failure[fallback];
+                }
+                int target = next(transitionChars, transitionTargets, fallback, c);
+                failure[child] = target >= 0 && target != child ? target : ROOT;
+                outputLink[child] = keywordAt[failure[child]] != NO_KEYWORD ? failure[child] : outputLink[failure[child]];
+                queue.add(child);
+            }
+        }
+
+        return new KeywordMatcher(transitionChars, transitionTargets, failure, keywordAt, outputLink,
+                Arrays.copyOf(keywordLengths, keywordIndex), Arrays.copyOf(keywords, keywordIndex),
+                Arrays.copyOf(values, keywordIndex));
+    }
+
+    /**
+     * Scan the text once and return the value of the best matching keyword whose value is
+     * accepted by {@code accept}, or {@code null} if none matches.
+     */
+    public String findBest(CharSequence text, Predicate<String> accept) {
+        int keyword = findBestIndex(text, accept);
+        return keyword != NO_KEYWORD ? values[keyword] : null;
+    }
+
+    public String findBest(CharSequence text) {
+        return findBest(text, value -> true);
+    }
+
+    /**
+     * Like {@link #findBest(CharSequence, Predicate)}, but returns the index of the matching
+     * keyword (see {@link #keyword} and {@link #value}), or -1 if none matches.
+     */
+    public int findBestIndex(CharSequence text, Predicate<String> accept) {
+        int bestKeyword = NO_KEYWORD;
+        int bestStart = Integer.MAX_VALUE;
+        int state = ROOT;
+
+        for (int position = 0; position < text.length(); position++) {
+            char c = Character.toLowerCase(text.charAt(position));
+            int target;
+            while ((target = next(transitionChars, transitionTargets, state, c)) < 0 && state != ROOT) {
+                state = failure[state];
+            }
+            state = target >= 0 ? target : ROOT;
+
+            for (int output = keywordAt[state] != NO_KEYWORD ? state : outputLink[state];
+                 output != NO_KEYWORD; output = outputLink[output]) {
+                int keyword = keywordAt[output];
+                int length = keywordLengths[keyword];
+                int start = position - length + 1;
+                boolean better = bestKeyword == NO_KEYWORD
+                        || length > keywordLengths[bestKeyword]
+                        || (length == keywordLengths[bestKeyword] && start < bestStart);
+                if (better && accept.test(values[keyword])) {
+                    bestKeyword = keyword;
+                    bestStart = start;
+                }
+            }
+        }
+        return bestKeyword;
+    }
+
+    /**
+     * Number of distinct keywords; valid indexes are 0 to {@code size() - 1}.
+     */
+    public int size() {
+        return keywords.length;
+    }
+
+    /**
+     * The lower-cased keyword at the given index.
+     */
+    public String keyword(int index) {
+        return keywords[index];
+    }
+
+    public String value(int index) {
+        return values[index];
+    }
+
+    private static int next(char[][] transitionChars, int[][] transitionTargets, int state, char c) {
+        int index = Arrays.binarySearch(transitionChars[state], c);
+        return index >= 0 ? transitionTargets[state][index] : -1;
+    }
+}
@@ -0,0 +1,157 @@
+package com.finance.dashboard.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * Immutable amount of money held as a long count of the currency's minor units (cents), for
+ * aggregation code that would otherwise allocate a new {@link BigDecimal} per addition.
+ * Arithmetic is exact: overflow throws {@link ArithmeticException} instead of wrapping, and
+ * mixing currencies throws {@link IllegalArgumentException}. Convert with
+ * {@link #toBigDecimal()} at the DTO boundary.
+ */
+public final class Money implements Comparable<Money> {
+
+    // The application is single-currency; the frontend formats amounts as USD
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("USD");
+
+    public static final Money ZERO = new Money(0, DEFAULT_CURRENCY);
+
+    private final long minorUnits;
+    private final Currency currency;
+
+    private Money(long minorUnits, Currency currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        if (minorUnits == 0 && currency.equals(DEFAULT_CURRENCY)) {
+            return ZERO;
+        }
+        return new Money(minorUnits, Objects.requireNonNull(currency));
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return ofMinor(minorUnits, DEFAULT_CURRENCY);
+    }
+
+    /**
+     * @throws ArithmeticException if the amount has more fraction digits than the currency
+     *                             or does not fit in a long count of minor units
+     */
+    public static Money of(BigDecimal amount, Currency currency) {
+        return ofMinor(amount.setScale(currency.getDefaultFractionDigits(), RoundingMode.UNNECESSARY)
+            .unscaledValue().longValueExact(), currency);
+    }
+
+    public static Money of(BigDecimal amount) {
+        return of(amount, DEFAULT_CURRENCY);
+    }
+
+    public Money plus(Money other) {
+        checkCurrency(other);
+        if (other.minorUnits == 0) {
+            return this;
+        }
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        checkCurrency(other);
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money negate() {
+        return minorUnits == 0 ? this : ofMinor(Math.negateExact(minorUnits), currency);
+    }
+
+    public Money abs() {
+        return minorUnits < 0 ? negate() : this;
+    }
+
+    /**
+     * This amount divided by {@code divisor}, rounded half up to whole minor units.
+     */
+    public Money divideRoundingHalfUp(long divisor) {
+        if (divisor == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        if (minorUnits == Long.MIN_VALUE && divisor == -1) {
+            throw new ArithmeticException("long overflow");
+        }
+        long quotient = minorUnits / divisor;
+        long remainder = minorUnits % divisor;
+        // Round away from zero when twice the remainder is at least the divisor. Compared
+        // unsigned, where neither side can overflow, not even for a divisor of Long.MIN_VALUE.
+        if (Long.compareUnsigned(Math.abs(remainder) << 1, Math.abs(divisor)) >= 0) {
+            quotient += (minorUnits < 0) == (divisor < 0) ? 1 : -1;
+        }
+        return ofMinor(quotient, currency);
+    }
+
+    /**
+     * This amount as a percentage of {@code total}, with the ratio rounded half up to four
+     * decimal places (so 12.34 for 1234/10000), or 0 when the total is not positive.
+     */
+    public double percentOf(Money total) {
+        checkCurrency(total);
+        if (total.minorUnits <= 0) {
+            return 0.0;
+        }
+        long basisPoints = ofMinor(Math.multiplyExact(minorUnits, 10_000L), currency)
+            .divideRoundingHalfUp(total.minorUnits).minorUnits;
+        return basisPoints / 100.0;
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, currency.getDefaultFractionDigits());
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        checkCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Money other)) return false;
+        return minorUnits == other.minorUnits && currency.equals(other.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits) * 31 + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return currency.getCurrencyCode() + " " + toBigDecimal().toPlainString();
+    }
+
+    private void checkCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.finance.dashboard.util;
+
+import com.finance.dashboard.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+
+/**
+ * Income and expense totals over a bounded date window, bucketed by a {@link Granularity}.
+ * Buckets are addressed by a primitive period index (epoch day, epoch week, year * 12 + month,
+ * ...) and totals are kept as long minor units (cents) in two parallel arrays, so every bucket
+ * in the window exists and empty periods read as zero. Amounts are converted and added with the
+ * rules of {@link Money}: exact conversion and overflow-checked addition.
+ * <p>
+ * The first and last buckets cover only the part of their period inside the window.
+ * Instances are not thread-safe.
+ */
+public class TimeSeries {
+
+    // Upper bound on buckets per series, e.g. about 27 years of days
+    public static final int MAX_BUCKETS = 10_000;
+
+    public enum Granularity {
+        DAY,
+        // ISO weeks, starting on Monday
+        WEEK,
+        MONTH,
+        QUARTER,
+        YEAR;
+
+        /**
+         * Index of the period containing the date; consecutive periods have consecutive indexes.
+         */
+        public long index(LocalDate date) {
+            switch (this) {
+                case DAY:
+                    return date.toEpochDay();
+                case WEEK:
+                    // 1970-01-01 was a Thursday, so shift by three days to make weeks start on Monday
+                    return Math.floorDiv(date.toEpochDay() + 3, 7);
+                case MONTH:
+                    return date.getYear() * 12L + date.getMonthValue() - 1;
+                case QUARTER:
+                    return date.getYear() * 4L + date.get(IsoFields.QUARTER_OF_YEAR) - 1;
+                default:
+                    return date.getYear();
+            }
+        }
+
+        /**
+         * First day of the period with the given index.
+         */
+        public LocalDate start(long index) {
+            switch (this) {
+                case DAY:
+                    return LocalDate.ofEpochDay(index);
+                case WEEK:
+                    return LocalDate.ofEpochDay(index * 7 - 3);
+                case MONTH:
+                    return LocalDate.of((int) Math.floorDiv(index, 12), Math.floorMod(index, 12) + 1, 1);
+                case QUARTER:
+                    return LocalDate.of((int) Math.floorDiv(index, 4), Math.floorMod(index, 4) * 3 + 1, 1);
+                default:
+                    return LocalDate.of((int) index, 1, 1);
+            }
+        }
+    }
+
+    private final Granularity granularity;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final long firstIndex;
+    private final long[] income;
+    private final long[] expenses;
+
+    /**
+     * @throws IllegalArgumentException if the window is empty or spans more than {@link #MAX_BUCKETS} periods
+     */
+    public TimeSeries(Granularity granularity, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        long buckets = granularity.index(endDate) - granularity.index(startDate) + 1;
+        if (buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Date range spans more than " + MAX_BUCKETS + " periods");
+        }
+        this.granularity = granularity;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.firstIndex = granularity.index(startDate);
+        this.income = new long[(int) buckets];
+        this.expenses = new long[(int) buckets];
+    }
+
+    /**
+     * Add an amount to the bucket containing the date. Dates outside the window are ignored.
+     *
+     * @throws ArithmeticException if the amount has more than two fraction digits or a bucket
+     *                             total overflows
+     */
+    public void add(LocalDate date, TransactionType type, BigDecimal amount) {
+        if (date.isBefore(startDate) || date.isAfter(endDate)) {
+            return;
+        }
+        int bucket = (int) (granularity.index(date) - firstIndex);
+        long minor = Money.of(amount).getMinorUnits();
+        if (type == TransactionType.INCOME) {
+            income[bucket] = Math.addExact(income[bucket], minor);
+        } else {
+            expenses[bucket] = Math.addExact(expenses[bucket], minor);
+        }
+    }
+
+    public Granularity getGranularity() {
+        return granularity;
+    }
+
+    public int size() {
+        return income.length;
+    }
+
+    /**
+     * Start of the bucket's period, clamped to the window start for the first bucket.
+     */
+    public LocalDate getPeriodStart(int bucket) {
+        LocalDate periodStart = granularity.start(firstIndex + bucket);
+        return periodStart.isBefore(startDate) ? startDate : periodStart;
+    }
+
+    public long getIncomeMinor(int bucket) {
+        return income[bucket];
+    }
+
+    public long getExpensesMinor(int bucket) {
+        return expenses[bucket];
+    }
+
+    public BigDecimal getIncome(int bucket) {
+        return Money.ofMinor(income[bucket]).toBigDecimal();
+    }
+
+    public BigDecimal getExpenses(int bucket) {
+        return Money.ofMinor(expenses[bucket]).toBigDecimal();
+    }
+}
@@ -0,0 +1,57 @@
+package com.finance.dashboard.util;
+
+import com.finance.dashboard.model.Transaction;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset-pagination cursor: the (date, id) of the last transaction on a page, for
+ * listings ordered by date descending, id descending.
+ */
+public class TransactionCursor {
+    
+    private final LocalDate date;
+    private final Long id;
+    
+    public TransactionCursor(LocalDate date, Long id) {
+        this.date = date;
+        this.id = id;
+    }
+    
+    public static String encode(Transaction transaction) {
+        return encode(transaction.getDate(), transaction.getId());
+    }
+    
+    public static String encode(LocalDate date, Long id) {
+        String value = date + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode}
+     */
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TransactionCursor(LocalDate.parse(value.substring(0, separator)),
+                Long.parseLong(value.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+    
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,68 @@
+package com.finance.dashboard.util;
+
+import com.finance.dashboard.model.Transaction;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 64-bit content fingerprints for imported transactions, used to skip rows that an earlier
+ * import already stored. The hash covers the user, date, normalized description (trimmed,
+ * whitespace collapsed, lower-cased), amount (trailing zeros ignored) and reference.
+ * <p>
+ * A statement can legitimately contain identical rows (two coffees on the same day), so each
+ * row also carries its occurrence number among identical rows of the same import: the n-th
+ * copy gets the same fingerprint in every import of that file, and re-importing it matches
+ * the rows stored the first time without collapsing genuine repeats.
+ * <p>
+ * One instance tracks the occurrences of one import and is not thread-safe.
+ */
+public class TransactionFingerprint {
+    
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    
+    private final Map<Long, Integer> occurrences = new HashMap<>();
+    
+    /**
+     * Fingerprint of the next row of this import.
+     */
+    public long next(Transaction transaction) {
+        long base = contentHash(transaction.getUser().getId(), transaction.getDate(), transaction.getDescription(),
+            transaction.getAmount(), transaction.getReference());
+        int occurrence = occurrences.merge(base, 1, Integer::sum) - 1;
+        return occurrence == 0 ? base : mix(base + occurrence * GOLDEN_GAMMA);
+    }
+    
+    static long contentHash(Long userId, LocalDate date, String description, BigDecimal amount, String reference) {
+        String canonical = userId + "\u001F" + date + "\u001F" + normalize(description) + "\u001F"
+            + (amount != null ? amount.stripTrailingZeros().toPlainString() : "") + "\u001F"
+            + (reference != null ? reference.trim() : "");
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest, 0, Long.BYTES).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static String normalize(String description) {
+        return description != null ? WHITESPACE.matcher(description.trim()).replaceAll(" ").toLowerCase(Locale.ROOT) : "";
+    }
+    
+    // SplitMix64 finalizer: spreads base + n * gamma over all 64 bits
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,11 @@
+-- Access-path indexes for the transactions table (see TransactionIndexInitializer, which
+-- builds them on PostgreSQL). H2 has no INCLUDE clause, so the covering columns are
+-- appended to the key instead.
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_date ON transactions (user_id, date, id);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_type_date ON transactions (user_id, type, date, amount, category_id);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_category ON transactions (user_id, category_id);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_fingerprint ON transactions (user_id, fingerprint);
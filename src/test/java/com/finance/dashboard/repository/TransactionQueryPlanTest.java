@@ -0,0 +1,320 @@
+package com.finance.dashboard.repository;
+
+import com.finance.dashboard.model.TransactionType;
+import com.finance.dashboard.model.User;
+import com.finance.dashboard.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The transaction indexes built by TransactionIndexInitializer must be valid on a real
+ * PostgreSQL, and the planner must pick them for every per-user query in
+ * TransactionRepository. Each case calls the repository method itself; the statements it sent
+ * are recorded at the JDBC level and explained again with the same bound values, so a changed
+ * or added query is checked as Hibernate actually runs it.
+ */
+@SpringBootTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@ActiveProfiles("prod")
+@Testcontainers(disabledWithoutDocker = true)
+class TransactionQueryPlanTest {
+
+    private static final int USERS = 20;
+    private static final int TRANSACTIONS_PER_USER = 2500;
+    private static final LocalDate RANGE_START = LocalDate.of(2023, 1, 1);
+    private static final LocalDate RANGE_END = LocalDate.of(2023, 3, 31);
+    private static final LocalDate KEYSET_DATE = LocalDate.of(2023, 6, 1);
+    private static final Pageable PAGE = PageRequest.of(1, 20, Sort.by(Sort.Direction.DESC, "date"));
+    private static final Pageable FIRST_ROWS = PageRequest.of(0, 21);
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    // Seeded once for all tests; the context (and its database) is shared between them
+    private static User user;
+    private static Long categoryId;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void seed() {
+        if (user != null) {
+            return;
+        }
+        List<Long> categoryIds = jdbcTemplate.queryForList(
+                "SELECT id FROM categories WHERE user_id IS NULL ORDER BY id", Long.class);
+        // One in ten rows is uncategorized
+        StringBuilder category = new StringBuilder("CASE g % 10");
+        for (int i = 1; i < 10; i++) {
+            category.append(" WHEN ").append(i).append(" THEN ").append(categoryIds.get(i % categoryIds.size()));
+        }
+        category.append(" END");
+        categoryId = categoryIds.get(1);
+
+        // Enough users that one user's rows are a small fraction of the table
+        for (int u = 0; u < USERS; u++) {
+            User created = userService.createUser("plan" + u, "plan" + u + "@example.com", "password123", "Plan", "User");
+            jdbcTemplate.update("INSERT INTO transactions (id, date, description, amount, type, user_id, category_id, fingerprint) "
+                    + "SELECT nextval('transactions_seq'), DATE '2022-01-01' + (g % 1000), 'Row ' || g, "
+                    + "CASE WHEN g % 5 = 0 THEN 2500.00 ELSE -12.50 END, "
+                    + "CASE WHEN g % 5 = 0 THEN 'INCOME' ELSE 'EXPENSE' END, ?, " + category + ", "
+                    + "CASE WHEN g % 4 <> 0 THEN ? * 100000 + g END "
+                    + "FROM generate_series(1, ?) g", created.getId(), created.getId(), TRANSACTIONS_PER_USER);
+            user = created;
+        }
+        jdbcTemplate.execute("VACUUM ANALYZE transactions");
+    }
+
+    @Test
+    void indexesAreBuiltAndValid() {
+        List<String> valid = jdbcTemplate.queryForList("SELECT c.relname FROM pg_index i "
+                + "JOIN pg_class c ON c.oid = i.indexrelid JOIN pg_class t ON t.oid = i.indrelid "
+                + "WHERE t.relname = 'transactions' AND i.indisvalid", String.class);
+
+        assertThat(valid).contains("idx_transactions_user_date", "idx_transactions_user_type_date",
+                "idx_transactions_user_category", "idx_transactions_user_fingerprint");
+    }
+
+    static Stream<Arguments> perUserQueries() {
+        return Stream.of(
+                query("findByUser", r -> r.findByUser(user, PAGE)),
+                query("countByUser", r -> r.countByUser(user)),
+                query("findByUserAndDateBetween", r -> r.findByUserAndDateBetween(user, RANGE_START, RANGE_END, PAGE)),
+                query("findRowsByUserId", r -> r.findRowsByUserId(user.getId(), PAGE)),
+                query("findRowsByUserIdAndDateBetween",
+                        r -> r.findRowsByUserIdAndDateBetween(user.getId(), RANGE_START, RANGE_END, PAGE)),
+                query("findRowSliceByUserId", r -> r.findRowSliceByUserId(user.getId(), PAGE)),
+                query("findRowSliceByUserIdAndDateBetween",
+                        r -> r.findRowSliceByUserIdAndDateBetween(user.getId(), RANGE_START, RANGE_END, PAGE)),
+                query("findFirstRowsByUserId", r -> r.findFirstRowsByUserId(user.getId(), FIRST_ROWS)),
+                query("findFirstRowsByUserIdAndDateBetween",
+                        r -> r.findFirstRowsByUserIdAndDateBetween(user.getId(), RANGE_START, RANGE_END, FIRST_ROWS)),
+                query("findRowsByUserIdBefore",
+                        r -> r.findRowsByUserIdBefore(user.getId(), KEYSET_DATE, Long.MAX_VALUE, FIRST_ROWS)),
+                query("findRowsByUserIdAndDateBetweenBefore", r -> r.findRowsByUserIdAndDateBetweenBefore(
+                        user.getId(), RANGE_START, RANGE_END, LocalDate.of(2023, 2, 1), Long.MAX_VALUE, FIRST_ROWS)),
+                query("findByUserAndType", r -> r.findByUserAndType(user, TransactionType.INCOME)),
+                query("findByUserAndDateBetweenAndType",
+                        r -> r.findByUserAndDateBetweenAndType(user, RANGE_START, RANGE_END, TransactionType.EXPENSE)),
+                query("findByUserAndCategoryId", r -> r.findByUserAndCategoryId(user, categoryId)),
+                query("sumAmountByUserAndTypeAndDateBetween", r -> r.sumAmountByUserAndTypeAndDateBetween(
+                        user, TransactionType.EXPENSE, RANGE_START, RANGE_END)),
+                query("findCategoryTotalsByUserAndTypeAndDateBetween", r -> r.findCategoryTotalsByUserAndTypeAndDateBetween(
+                        user, TransactionType.EXPENSE, RANGE_START, RANGE_END)),
+                query("findMonthlyTotalsByUserAndType", r -> r.findMonthlyTotalsByUserAndType(user, TransactionType.INCOME)),
+                query("countTransactionsByUserAndBetweenDates",
+                        r -> r.countTransactionsByUserAndBetweenDates(user, RANGE_START, RANGE_END)),
+                query("findExistingFingerprints", r -> r.findExistingFingerprints(user.getId(),
+                        List.of(user.getId() * 100000 + 1, user.getId() * 100000 + 2, 42L))),
+                query("findDailyTotalsByUserId", r -> r.findDailyTotalsByUserId(user.getId())),
+                query("streamRowsForExport", r -> {
+                    try (Stream<?> rows = r.streamRowsForExport(user.getId(), null, null, null, null)) {
+                        rows.limit(10).forEach(row -> { });
+                    }
+                }),
+                query("streamRowsForExport with filters", r -> {
+                    try (Stream<?> rows = r.streamRowsForExport(user.getId(), RANGE_START, RANGE_END,
+                            TransactionType.EXPENSE, categoryId)) {
+                        rows.forEach(row -> { });
+                    }
+                }));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("perUserQueries")
+    void perUserQueryUsesATransactionIndex(String name, Consumer<TransactionRepository> call) {
+        List<String> plans = explainStatements(call);
+
+        assertThat(plans).as(name).isNotEmpty();
+        for (String plan : plans) {
+            assertThat(plan).as(name).containsPattern("(using|on) idx_transactions_");
+            assertThat(plan).as(name).doesNotContain("Seq Scan on transactions");
+        }
+    }
+
+    @Test
+    void keysetPagesSeekTheUserDateIndexWithoutSorting() {
+        for (Consumer<TransactionRepository> call : List.<Consumer<TransactionRepository>>of(
+                r -> r.findFirstRowsByUserId(user.getId(), FIRST_ROWS),
+                r -> r.findRowsByUserIdBefore(user.getId(), KEYSET_DATE, Long.MAX_VALUE, FIRST_ROWS))) {
+            assertThat(explainStatements(call)).singleElement().satisfies(plan -> assertThat(plan)
+                    .contains("Index Scan Backward using idx_transactions_user_date").doesNotContain("Sort"));
+        }
+    }
+
+    @Test
+    void rangeTotalIsAnsweredFromTheCoveringIndex() {
+        assertThat(explainStatements(r -> r.sumAmountByUserAndTypeAndDateBetween(
+                user, TransactionType.EXPENSE, RANGE_START, RANGE_END)))
+                .singleElement().asString().contains("Index Only Scan using idx_transactions_user_type_date");
+    }
+
+    @Test
+    void fingerprintProbeUsesThePartialIndex() {
+        assertThat(explainStatements(r -> r.findExistingFingerprints(user.getId(),
+                List.of(user.getId() * 100000 + 1, user.getId() * 100000 + 2, 42L))))
+                .singleElement().asString().contains("idx_transactions_user_fingerprint");
+    }
+
+    private static Arguments query(String name, Consumer<TransactionRepository> call) {
+        return Arguments.of(name, call);
+    }
+
+    /**
+     * Run the repository call, then EXPLAIN every statement it sent to the transactions table
+     * with the values it bound.
+     */
+    private List<String> explainStatements(Consumer<TransactionRepository> call) {
+        RecordingDataSource.STATEMENTS.clear();
+        // Streams must be consumed inside a transaction; the rest run the same way inside one
+        transactionTemplate.executeWithoutResult(status -> call.accept(transactionRepository));
+        List<RecordedStatement> statements = new ArrayList<>(RecordingDataSource.STATEMENTS);
+
+        List<String> plans = new ArrayList<>();
+        for (RecordedStatement statement : statements) {
+            if (statement.sql.contains("transactions ")) {
+                plans.add(jdbcTemplate.execute((ConnectionCallback<String>) connection -> explain(connection, statement)));
+            }
+        }
+        return plans;
+    }
+
+    private static String explain(Connection connection, RecordedStatement statement) throws SQLException {
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql)) {
+            statement.bind(explain);
+            List<String> lines = new ArrayList<>();
+            try (ResultSet plan = explain.executeQuery()) {
+                while (plan.next()) {
+                    lines.add(plan.getString(1));
+                }
+            }
+            return statement.sql + "\n" + String.join("\n", lines);
+        }
+    }
+
+    /**
+     * A prepared statement as the application sent it: its SQL and the setter calls that bound
+     * its parameters, replayed in order onto the EXPLAIN statement.
+     */
+    private static final class RecordedStatement {
+
+        private final String sql;
+        private final List<Binding> bindings = new CopyOnWriteArrayList<>();
+
+        RecordedStatement(String sql) {
+            this.sql = sql;
+        }
+
+        void bind(PreparedStatement target) throws SQLException {
+            for (Binding binding : bindings) {
+                try {
+                    binding.setter().invoke(target, binding.args());
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                } catch (InvocationTargetException e) {
+                    throw new SQLException(e.getCause());
+                }
+            }
+        }
+    }
+
+    private record Binding(Method setter, Object[] args) {
+    }
+
+    /**
+     * Wraps the application's DataSource so every prepared statement and its bound values are
+     * recorded. Applied after initialization, so the pool is configured as in production.
+     */
+    @TestConfiguration
+    static class RecordingDataSource {
+
+        static final List<RecordedStatement> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? proxy(DataSource.class, dataSource, null) : bean;
+                }
+            };
+        }
+
+        private static <T> T proxy(Class<T> type, T target, RecordedStatement statement) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (p, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof Connection connection && type == DataSource.class) {
+                    return proxy(Connection.class, connection, null);
+                }
+                if (result instanceof PreparedStatement prepared && method.getName().equals("prepareStatement")) {
+                    RecordedStatement recorded = new RecordedStatement((String) args[0]);
+                    STATEMENTS.add(recorded);
+                    return proxy(PreparedStatement.class, prepared, recorded);
+                }
+                if (statement != null && method.getName().startsWith("set") && args != null
+                        && args.length >= 2 && args[0] instanceof Integer) {
+                    statement.bindings.add(new Binding(method, args));
+                }
+                return result;
+            }));
+        }
+    }
+}
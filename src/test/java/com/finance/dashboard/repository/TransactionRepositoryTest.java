@@ -0,0 +1,140 @@
+package com.finance.dashboard.repository;
+
+import com.finance.dashboard.dto.TransactionRowDto;
+import com.finance.dashboard.model.Category;
+import com.finance.dashboard.model.Transaction;
+import com.finance.dashboard.model.TransactionType;
+import com.finance.dashboard.model.User;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The transaction list rows behind /api/dashboard/transactions and /api/transactions/export
+ * must come from one statement per page, whatever the number of distinct categories.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TransactionRepositoryTest {
+
+    private static final int TRANSACTIONS = 30;
+    private static final int CATEGORIES = 5;
+    private static final int PAGE_SIZE = 10;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id"));
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        user = entityManager.persist(new User("alice", "alice@example.com", "password"));
+        Category[] categories = new Category[CATEGORIES];
+        for (int i = 0; i < CATEGORIES; i++) {
+            categories[i] = entityManager.persist(new Category("Category " + i, "Test category", "#00000" + i));
+        }
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            Transaction transaction = new Transaction(LocalDate.of(2024, 1, 1).plusDays(i), "Row " + i,
+                    BigDecimal.valueOf(-10 - i), TransactionType.EXPENSE);
+            transaction.setUser(user);
+            // Every sixth row is uncategorized
+            transaction.setCategory(i % 6 == 5 ? null : categories[i % CATEGORIES]);
+            entityManager.persist(transaction);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void pageSelectsRowsAndCountOnly() {
+        Page<TransactionRowDto> page = transactionRepository.findRowsByUserId(user.getId(),
+                PageRequest.of(1, PAGE_SIZE, NEWEST_FIRST));
+
+        assertRowsWithCategories(page.getContent());
+        assertThat(page.getTotalElements()).isEqualTo(TRANSACTIONS);
+        // The rows and the COUNT
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void sliceSelectsRowsOnly() {
+        Slice<TransactionRowDto> slice = transactionRepository.findRowSliceByUserIdAndDateBetween(user.getId(),
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), PageRequest.of(0, PAGE_SIZE, NEWEST_FIRST));
+
+        assertRowsWithCategories(slice.getContent());
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void keysetPagesTakeOneStatementEach() {
+        List<TransactionRowDto> first = transactionRepository.findFirstRowsByUserId(user.getId(), PageRequest.of(0, PAGE_SIZE));
+        assertRowsWithCategories(first);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        TransactionRowDto last = first.get(first.size() - 1);
+        List<TransactionRowDto> next = transactionRepository.findRowsByUserIdBefore(user.getId(), last.getDate(),
+                last.getId(), PageRequest.of(0, PAGE_SIZE));
+        assertRowsWithCategories(next);
+        assertThat(next.get(0).getDate()).isBefore(last.getDate());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void exportStreamsAllRowsWithOneStatement() {
+        List<TransactionRowDto> rows;
+        try (Stream<TransactionRowDto> stream = transactionRepository.streamRowsForExport(user.getId(), null, null, null, null)) {
+            rows = stream.toList();
+        }
+
+        assertThat(rows).hasSize(TRANSACTIONS);
+        assertRowsWithCategories(rows);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void toStringDoesNotLoadTheLazyCategory() {
+        List<Transaction> transactions = transactionRepository.findByUserAndType(user, TransactionType.EXPENSE);
+        // Detached, as in the service's debug logging after the session is gone
+        entityManager.clear();
+
+        assertThat(transactions).hasSize(TRANSACTIONS).allSatisfy(transaction -> {
+            Category category = transaction.getCategory();
+            String expected = "categoryId=" + (category != null ? category.getId() : null);
+            assertThat(transaction.toString()).contains(expected);
+            assertThat(category == null || !Hibernate.isInitialized(category)).isTrue();
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private static void assertRowsWithCategories(List<TransactionRowDto> rows) {
+        assertThat(rows).isNotEmpty();
+        assertThat(rows).anyMatch(row -> row.getCategoryId() == null);
+        assertThat(rows).filteredOn(row -> row.getCategoryId() != null)
+                .isNotEmpty()
+                .allMatch(row -> row.getCategoryName().startsWith("Category ") && row.getCategory() != null);
+    }
+}
@@ -0,0 +1,173 @@
+package com.finance.dashboard.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link JwtAuthenticationFilter} against the filter it replaced, which
+ * built a new JwtParser for every token, created a new WebAuthenticationDetailsSource for every
+ * authenticated request and parsed tokens sent to public endpoints too. Both run with a warm
+ * {@link AuthenticatedUserCache}, so neither loads the user; each invocation is one request
+ * through the filter with an empty security context:
+ * <ul>
+ * <li>{@code authenticated*}: a valid bearer token on an API endpoint;</li>
+ * <li>{@code publicEndpoint*}: a bearer token sent along to {@code /api/auth/login}.</li>
+ * </ul>
+ * Run with {@code -prof gc} to compare allocations. Not run by the build:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main JwtAuthenticationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyThatIsAtLeast32CharactersLongForHS256";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtAuthenticationFilter filter;
+    private LegacyJwtAuthenticationFilter legacyFilter;
+    private MockHttpServletRequest apiRequest;
+    private MockHttpServletRequest loginRequest;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() throws Exception {
+        UserDetails user = User.withUsername("alice").password("password").roles("USER").build();
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 3_600_000);
+        AuthenticatedUserCache cache = new AuthenticatedUserCache(3600, 100);
+        cache.put(user.getUsername(), user);
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "userDetailsService", (UserDetailsService) username -> user);
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "authenticatedUserCache", cache);
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        filter.registerMetrics();
+        legacyFilter = new LegacyJwtAuthenticationFilter(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), cache);
+
+        String header = "Bearer " + jwtUtil.generateToken(user);
+        apiRequest = request("/api/dashboard/summary", header);
+        loginRequest = request("/api/auth/login", header);
+        response = new MockHttpServletResponse();
+
+        // Both filters must actually authenticate, or the comparison is meaningless
+        if (authenticatedCurrent() == null || authenticatedLegacy() == null) {
+            throw new IllegalStateException("Benchmark token was not accepted");
+        }
+    }
+
+    @Benchmark
+    public Authentication authenticatedCurrent() throws Exception {
+        return run(filter, apiRequest);
+    }
+
+    @Benchmark
+    public Authentication authenticatedLegacy() throws Exception {
+        return run(legacyFilter, apiRequest);
+    }
+
+    @Benchmark
+    public Authentication publicEndpointCurrent() throws Exception {
+        return run(filter, loginRequest);
+    }
+
+    @Benchmark
+    public Authentication publicEndpointLegacy() throws Exception {
+        return run(legacyFilter, loginRequest);
+    }
+
+    private Authentication run(OncePerRequestFilter target, MockHttpServletRequest request) throws Exception {
+        SecurityContextHolder.clearContext();
+        target.doFilter(request, response, NO_OP_CHAIN);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static MockHttpServletRequest request(String path, String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        request.addHeader("Authorization", authorization);
+        return request;
+    }
+
+    /**
+     * The filter before it was consolidated, without its debug logging (disabled in production).
+     */
+    private static final class LegacyJwtAuthenticationFilter extends OncePerRequestFilter {
+
+        private final SecretKey key;
+        private final AuthenticatedUserCache authenticatedUserCache;
+
+        LegacyJwtAuthenticationFilter(SecretKey key, AuthenticatedUserCache authenticatedUserCache) {
+            this.key = key;
+            this.authenticatedUserCache = authenticatedUserCache;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            final String requestTokenHeader = request.getHeader("Authorization");
+            String username = null;
+            if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
+                try {
+                    username = Jwts.parserBuilder()
+                            .setSigningKey(key)
+                            .build()
+                            .parseClaimsJws(requestTokenHeader.substring(7))
+                            .getBody()
+                            .getSubject();
+                } catch (JwtException | IllegalArgumentException e) {
+                    // Logged at error level in the old filter
+                }
+            }
+
+            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = authenticatedUserCache.get(username);
+                if (userDetails != null && username.equals(userDetails.getUsername())) {
+                    UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
+            }
+            filterChain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.finance.dashboard.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "testSecretKeyThatIsAtLeast32CharactersLongForHS256";
+    // JwtUtil's default key, which production signed with until the prod profile read JWT_SECRET into app.jwt.secret
+    private static final String OLD_FALLBACK_SECRET = "defaultSecretKeyThatIsAtLeast32CharactersLongForHS256";
+    private static final int EXPIRATION_MS = 60_000;
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, EXPIRATION_MS);
+    private final AtomicInteger userLookups = new AtomicInteger();
+    private final UserDetails alice = user("alice");
+
+    private JwtAuthenticationFilter filter;
+    private UserDetails lookupResult;
+    private boolean chainCalled;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+        lookupResult = alice;
+        UserDetailsService userDetailsService = username -> {
+            userLookups.incrementAndGet();
+            if (lookupResult == null) {
+                throw new UsernameNotFoundException(username);
+            }
+            return lookupResult;
+        };
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "authenticatedUserCache", new AuthenticatedUserCache(60, 100));
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        filter.registerMetrics();
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/auth/login", "/api/auth/register", "/h2-console/", "/h2-console/login.do", "/actuator/health"})
+    void skipsPublicEndpoints(String path) {
+        assertThat(filter.shouldNotFilter(request("POST", path))).isTrue();
+        assertThat(filter.shouldNotFilter(request("GET", path))).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/auth/me", "/api/auth/login/extra", "/api/dashboard/summary", "/api/upload/excel",
+                            "/actuator/prometheus", "/actuator/health/liveness"})
+    void filtersEverythingElse(String path) {
+        assertThat(filter.shouldNotFilter(request("GET", path))).isFalse();
+    }
+
+    @Test
+    void skipsCorsPreflights() {
+        assertThat(filter.shouldNotFilter(request("OPTIONS", "/api/dashboard/summary"))).isTrue();
+    }
+
+    @Test
+    void authenticatesAValidToken() throws Exception {
+        Authentication authentication = authenticate("/api/auth/me", bearer(jwtUtil.generateToken(alice)));
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getPrincipal()).isSameAs(alice);
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        assertThat(chainCalled).isTrue();
+    }
+
+    @Test
+    void publicEndpointIsNotAuthenticatedEvenWithAToken() throws Exception {
+        assertThat(authenticate("/api/auth/login", bearer(jwtUtil.generateToken(alice)))).isNull();
+        assertThat(userLookups).hasValue(0);
+        assertThat(chainCalled).isTrue();
+    }
+
+    @Test
+    void loadsTheUserOncePerCacheEntry() throws Exception {
+        String header = bearer(jwtUtil.generateToken(alice));
+
+        assertThat(authenticate("/api/dashboard/summary", header)).isNotNull();
+        SecurityContextHolder.clearContext();
+        assertThat(authenticate("/api/dashboard/summary", header)).isNotNull();
+
+        assertThat(userLookups).hasValue(1);
+    }
+
+    @Test
+    void rejectsATokenSignedWithTheOldFallbackKey() throws Exception {
+        String forged = new JwtUtil(OLD_FALLBACK_SECRET, EXPIRATION_MS).generateToken(alice);
+
+        assertThat(authenticate("/api/dashboard/summary", bearer(forged))).isNull();
+        assertThat(userLookups).hasValue(0);
+        assertThat(chainCalled).isTrue();
+    }
+
+    @Test
+    void rejectsAnExpiredToken() throws Exception {
+        String expired = new JwtUtil(SECRET, -1000).generateToken(alice);
+
+        assertThat(authenticate("/api/dashboard/summary", bearer(expired))).isNull();
+        assertThat(userLookups).hasValue(0);
+    }
+
+    @Test
+    void rejectsATamperedToken() throws Exception {
+        String token = jwtUtil.generateToken(alice);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThat(authenticate("/api/dashboard/summary", bearer(tampered))).isNull();
+    }
+
+    @Test
+    void rejectsASubjectThatOnlyMatchesAnotherUsersLookup() throws Exception {
+        // loadUserByUsername also matches by email, so a token whose subject is an email address
+        // resolves to a user whose username differs from the subject
+        String token = jwtUtil.generateToken(user("alice@example.com"));
+
+        assertThat(authenticate("/api/dashboard/summary", bearer(token))).isNull();
+        assertThat(userLookups).hasValue(1);
+        assertThat(chainCalled).isTrue();
+    }
+
+    @Test
+    void rejectsATokenForAnUnknownUser() throws Exception {
+        lookupResult = null;
+
+        assertThat(authenticate("/api/dashboard/summary", bearer(jwtUtil.generateToken(alice)))).isNull();
+        assertThat(chainCalled).isTrue();
+    }
+
+    @Test
+    void passesRequestsWithoutABearerTokenThrough() throws Exception {
+        assertThat(authenticate("/api/dashboard/summary", null)).isNull();
+        assertThat(authenticate("/api/dashboard/summary", "Basic YWxpY2U6cGFzc3dvcmQ=")).isNull();
+        assertThat(userLookups).hasValue(0);
+        assertThat(chainCalled).isTrue();
+    }
+
+    private Authentication authenticate(String path, String authorization) throws Exception {
+        MockHttpServletRequest request = request("GET", path);
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        chainCalled = false;
+        FilterChain chain = (req, res) -> chainCalled = true;
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        return request;
+    }
+
+    private static String bearer(String token) {
+        return "Bearer " + token;
+    }
+
+    private static UserDetails user(String username) {
+        return User.withUsername(username).password("password").roles("USER").build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.finance.dashboard.service;
+
+import com.finance.dashboard.model.Category;
+import com.finance.dashboard.model.User;
+import com.finance.dashboard.repository.CategoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The categorization snapshot cache: one load per user however many parse workers ask for it,
+ * and a slow load for one user never holds up another.
+ */
+class CategoryServiceTest {
+
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final Category food = new Category("Food & Dining", "System category", "#FF6B6B");
+    private CategoryService categoryService;
+
+    @BeforeEach
+    void setUp() {
+        categoryService = new CategoryService(categoryRepository, null, null, new SimpleMeterRegistry(), 300, 1000);
+        categoryService.initializeCategories();
+    }
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        User alice = user(1L);
+        CountDownLatch release = new CountDownLatch(1);
+        when(categoryRepository.findAvailableCategoriesForUser(alice)).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return List.of(food);
+        });
+
+        List<Future<Category>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> categoryService.categorizeTransaction("Pizza place", alice)));
+        }
+        release.countDown();
+
+        for (Future<Category> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isSameAs(food);
+        }
+        verify(categoryRepository, times(1)).findAvailableCategoriesForUser(alice);
+    }
+
+    @Test
+    void slowLoadDoesNotBlockOtherUsers() throws Exception {
+        // Ids 1 and 17 fall in the same bin of a small ConcurrentHashMap, so loading under the
+        // bin's lock would make Bob wait for Alice's query
+        User alice = user(1L);
+        User bob = user(17L);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(categoryRepository.findAvailableCategoriesForUser(alice)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return List.of(food);
+        });
+        when(categoryRepository.findAvailableCategoriesForUser(bob)).thenReturn(List.of(food));
+
+        Future<Category> aliceResult = executor.submit(() -> categoryService.categorizeTransaction("Pizza place", alice));
+        assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+        try {
+            Future<Category> bobResult = executor.submit(() -> categoryService.categorizeTransaction("Pizza place", bob));
+            assertThat(bobResult.get(2, TimeUnit.SECONDS)).isSameAs(food);
+        } finally {
+            release.countDown();
+        }
+        assertThat(aliceResult.get(10, TimeUnit.SECONDS)).isSameAs(food);
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        User alice = user(1L);
+        when(categoryRepository.findAvailableCategoriesForUser(alice))
+            .thenThrow(new IllegalStateException("connection refused"))
+            .thenReturn(List.of(food));
+
+        assertThatThrownBy(() -> categoryService.categorizeTransaction("Pizza place", alice))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("connection refused");
+        assertThat(categoryService.categorizeTransaction("Pizza place", alice)).isSameAs(food);
+        assertThat(categoryService.categorizeTransaction("Pizza place", alice)).isSameAs(food);
+        verify(categoryRepository, times(2)).findAvailableCategoriesForUser(alice);
+    }
+
+    private static User user(long id) {
+        User user = new User("user" + id, "user" + id + "@example.com", "password");
+        user.setId(id);
+        return user;
+    }
+}
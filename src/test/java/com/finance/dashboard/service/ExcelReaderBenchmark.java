@@ -0,0 +1,151 @@
+package com.finance.dashboard.service;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The streaming (SAX) reader against the XSSFWorkbook (DOM) reader it replaced, reading a
+ * generated statement of 10k, 100k and 1M rows. Reported per reader and size:
+ * <ul>
+ *   <li>{@code rows}: rows read per second;</li>
+ *   <li>{@code peakHeapMb}: peak heap during the iteration, as the sum of the heap pools' peaks
+ *   (an upper bound, since the pools do not peak at the same moment).</li>
+ * </ul>
+ * The DOM reader needs a few GB of heap at 1M rows, hence the fork's -Xmx. Not run by the build:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main ExcelReaderBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class ExcelReaderBenchmark {
+
+    private static final int COLUMN_COUNT = 4;
+    private static final String[] DESCRIPTIONS = {"Coffee shop", "Grocery store", "Salary", "Electricity bill", "Taxi"};
+
+    @Param({"10000", "100000", "1000000"})
+    public int rowCount;
+
+    @Param({"sax", "dom"})
+    public String reader;
+
+    private final StreamingExcelReader streamingExcelReader = new StreamingExcelReader();
+    private final List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void writeStatement() throws IOException {
+        file = Files.createTempFile("excel-reader-benchmark-", ".xlsx");
+        // Shared strings, like a statement saved by Excel; SXSSF writes inline strings by default
+        SXSSFWorkbook workbook = new SXSSFWorkbook(null, 1000, false, true);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd"));
+            Sheet sheet = workbook.createSheet();
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Date");
+            header.createCell(1).setCellValue("Description");
+            header.createCell(2).setCellValue("Amount");
+            header.createCell(3).setCellValue("Reference");
+            LocalDate firstDay = LocalDate.of(2020, 1, 1);
+            for (int i = 1; i <= rowCount; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue(firstDay.plusDays(i % 1500));
+                row.getCell(0).setCellStyle(dateStyle);
+                row.createCell(1).setCellValue(DESCRIPTIONS[i % DESCRIPTIONS.length]);
+                row.createCell(2).setCellValue(i % 10 == 0 ? 2500 + i : -(i % 97) - 0.25);
+                row.createCell(3).setCellValue("REF-" + i);
+            }
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteStatement() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void read(RowCounter counter, HeapCounter heap) throws IOException {
+        if ("sax".equals(reader)) {
+            streamingExcelReader.read(file, COLUMN_COUNT, row -> counter.rows++);
+        } else {
+            try (InputStream in = Files.newInputStream(file); XSSFWorkbook workbook = new XSSFWorkbook(in)) {
+                for (Row row : workbook.getSheetAt(0)) {
+                    ExcelRow.fromRow(row, COLUMN_COUNT, workbook.isDate1904());
+                    counter.rows++;
+                }
+            }
+        }
+        long peak = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peak += pool.getPeakUsage().getUsed();
+        }
+        heap.peakHeapMb = Math.max(heap.peakHeapMb, peak >> 20);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RowCounter {
+
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapCounter {
+
+        public long peakHeapMb;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            peakHeapMb = 0;
+            System.gc();
+            ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+        }
+    }
+}
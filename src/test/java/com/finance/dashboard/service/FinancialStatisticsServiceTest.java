@@ -0,0 +1,169 @@
+package com.finance.dashboard.service;
+
+import com.finance.dashboard.dto.CategorySummaryDto;
+import com.finance.dashboard.dto.FinancialSummaryDto;
+import com.finance.dashboard.dto.MonthlyTrendDto;
+import com.finance.dashboard.model.Category;
+import com.finance.dashboard.model.Transaction;
+import com.finance.dashboard.model.TransactionType;
+import com.finance.dashboard.model.User;
+import com.finance.dashboard.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The summary is assembled from the rollup tables; every figure in it must equal the same
+ * figure computed with plain SQL over the user's transactions.
+ */
+@SpringBootTest
+class FinancialStatisticsServiceTest {
+
+    // Fixed seed so a failure can be reproduced
+    private static final long SEED = 20240101L;
+    private static final int TRANSACTIONS = 400;
+    private static final int CATEGORIES = 5;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2023, 11, 1);
+    private static final int DAYS = 450;
+
+    @Autowired
+    private FinancialStatisticsService financialStatisticsService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(SEED);
+        user = userService.createUser("summary" + System.nanoTime(), "summary" + System.nanoTime() + "@example.com",
+                "password123", "Summary", "User");
+        Category[] categories = new Category[CATEGORIES];
+        for (int i = 0; i < CATEGORIES; i++) {
+            Category category = new Category("Summary " + user.getId() + "-" + i, "Test category", "#00000" + i);
+            category.setUser(user);
+            categories[i] = categoryRepository.save(category);
+        }
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            boolean income = random.nextInt(5) == 0;
+            long minorUnits = 1 + random.nextInt(income ? 500_000 : 30_000);
+            Transaction transaction = new Transaction(FIRST_DAY.plusDays(random.nextInt(DAYS)), "Row " + i,
+                    BigDecimal.valueOf(income ? minorUnits : -minorUnits, 2),
+                    income ? TransactionType.INCOME : TransactionType.EXPENSE);
+            transaction.setUser(user);
+            // About one row in seven is uncategorized
+            int category = random.nextInt(CATEGORIES + 1);
+            transaction.setCategory(category < CATEGORIES ? categories[category] : null);
+            transactionService.saveTransaction(transaction);
+        }
+    }
+
+    @Test
+    void summaryMatchesTotalsOfTheRawRows() {
+        // Partial months at both ends, whole months in between
+        assertSummaryMatchesRawRows(LocalDate.of(2023, 12, 17), LocalDate.of(2024, 9, 3));
+        // Inside a single month
+        assertSummaryMatchesRawRows(LocalDate.of(2024, 2, 3), LocalDate.of(2024, 2, 20));
+        // Whole months only, and a range past the last transaction
+        assertSummaryMatchesRawRows(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31));
+        assertSummaryMatchesRawRows(FIRST_DAY.minusYears(1), FIRST_DAY.plusYears(3));
+    }
+
+    @Test
+    void rebuiltRollupsGiveTheSameSummary() {
+        LocalDate start = LocalDate.of(2023, 12, 17);
+        LocalDate end = LocalDate.of(2024, 9, 3);
+        FinancialSummaryDto before = financialStatisticsService.getFinancialSummaryForUser(user, start, end);
+
+        transactionRollupService.rebuildForUser(user.getId());
+
+        FinancialSummaryDto after = financialStatisticsService.getFinancialSummaryForUser(user, start, end);
+        assertThat(after).usingRecursiveComparison().isEqualTo(before);
+        assertSummaryMatchesRawRows(start, end);
+    }
+
+    private void assertSummaryMatchesRawRows(LocalDate start, LocalDate end) {
+        FinancialSummaryDto summary = financialStatisticsService.getFinancialSummaryForUser(user, start, end);
+
+        assertThat(summary.getTotalIncome()).isEqualByComparingTo(sum(TransactionType.INCOME, start, end));
+        assertThat(summary.getTotalExpenses()).isEqualByComparingTo(sum(TransactionType.EXPENSE, start, end));
+        assertThat(summary.getNetIncome()).isEqualByComparingTo(
+                sum(TransactionType.INCOME, start, end).add(sum(TransactionType.EXPENSE, start, end)));
+        assertThat(summary.getTotalTransactions()).isEqualTo(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE user_id = ? AND date BETWEEN ? AND ?",
+                Long.class, user.getId(), start, end));
+
+        assertCategoriesMatch(summary.getExpensesByCategory(), TransactionType.EXPENSE, start, end);
+        assertCategoriesMatch(summary.getIncomeByCategory(), TransactionType.INCOME, start, end);
+
+        List<Map<String, Object>> months = jdbcTemplate.queryForList(
+                "SELECT YEAR(date) AS y, MONTH(date) AS m, "
+                + "SUM(CASE WHEN type = 'INCOME' THEN amount ELSE 0 END) AS income, "
+                + "SUM(CASE WHEN type = 'EXPENSE' THEN amount ELSE 0 END) AS expenses "
+                + "FROM transactions WHERE user_id = ? GROUP BY YEAR(date), MONTH(date) ORDER BY y, m", user.getId());
+        List<MonthlyTrendDto> trends = summary.getMonthlyTrends();
+        assertThat(trends).hasSameSizeAs(months);
+        for (int i = 0; i < months.size(); i++) {
+            Map<String, Object> month = months.get(i);
+            MonthlyTrendDto trend = trends.get(i);
+            assertThat(trend.getYear()).isEqualTo(((Number) month.get("y")).intValue());
+            assertThat(trend.getMonth()).isEqualTo(((Number) month.get("m")).intValue());
+            assertThat(trend.getIncome()).isEqualByComparingTo((BigDecimal) month.get("income"));
+            assertThat(trend.getExpenses()).isEqualByComparingTo((BigDecimal) month.get("expenses"));
+        }
+    }
+
+    private void assertCategoriesMatch(List<CategorySummaryDto> categories, TransactionType type,
+                                       LocalDate start, LocalDate end) {
+        Map<String, BigDecimal> expected = new HashMap<>();
+        BigDecimal grandTotal = BigDecimal.ZERO;
+        for (Map<String, Object> row : jdbcTemplate.queryForList(
+                "SELECT c.name AS name, SUM(t.amount) AS total FROM transactions t JOIN categories c ON c.id = t.category_id "
+                + "WHERE t.user_id = ? AND t.type = ? AND t.date BETWEEN ? AND ? GROUP BY c.name",
+                user.getId(), type.name(), start, end)) {
+            BigDecimal total = (BigDecimal) row.get("total");
+            expected.put((String) row.get("name"), total);
+            grandTotal = grandTotal.add(total.abs());
+        }
+
+        assertThat(categories).hasSize(expected.size());
+        for (CategorySummaryDto category : categories) {
+            BigDecimal total = expected.get(category.getCategoryName());
+            assertThat(category.getTotalAmount()).as(category.getCategoryName()).isEqualByComparingTo(total);
+            // The percentage the statistics computed with BigDecimal before they moved to Money
+            assertThat(category.getPercentage()).as(category.getCategoryName()).isEqualTo(
+                    total.abs().divide(grandTotal, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)).doubleValue());
+        }
+    }
+
+    private BigDecimal sum(TransactionType type, LocalDate start, LocalDate end) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(amount), 0) FROM transactions WHERE user_id = ? AND type = ? AND date BETWEEN ? AND ?",
+                BigDecimal.class, user.getId(), type.name(), start, end);
+    }
+}
@@ -0,0 +1,148 @@
+package com.finance.dashboard.service;
+
+import com.finance.dashboard.FinanceDashboardApplication;
+import com.finance.dashboard.dto.FinancialSummaryDto;
+import com.finance.dashboard.model.TransactionType;
+import com.finance.dashboard.model.User;
+import com.finance.dashboard.repository.TransactionRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one dashboard summary for a user with {@code transactions} rows, read from the
+ * rollups ({@link FinancialStatisticsService#getFinancialSummaryForUser}) against the summary
+ * before the rollups: two type totals, a count, two category breakdowns and two whole-history
+ * monthly series, each an aggregate over the user's transactions. The old DTO assembly is left
+ * out; it is in-memory work over a few hundred rows.
+ * <p>
+ * The rows are seeded with one INSERT ... SELECT over a generated series, spread over three
+ * years and all system categories, and the rollups are then built with
+ * {@link TransactionRollupService#rebuildForUser}. The range has partial months at both ends,
+ * so the rollup path also reads the daily table. {@code database=postgres} starts a
+ * PostgreSQL container (needs Docker) with the prod profile and its indexes. Not run by the
+ * build:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main FinancialSummaryBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class FinancialSummaryBenchmark {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2022, 1, 1);
+    private static final int DAYS = 1096;
+    private static final LocalDate START = LocalDate.of(2023, 1, 15);
+    private static final LocalDate END = LocalDate.of(2024, 1, 14);
+
+    @Param({"h2", "postgres"})
+    private String database;
+
+    @Param({"1000000"})
+    private int transactions;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private FinancialStatisticsService financialStatisticsService;
+    private TransactionRepository transactionRepository;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        // Command-line arguments, so they override application.yml
+        List<String> args = new ArrayList<>(List.of("--server.port=0", "--spring.jpa.show-sql=false",
+            "--spring.jpa.hibernate.ddl-auto=create-drop", "--logging.level.root=WARN",
+            "--logging.level.com.finance.dashboard=WARN", "--logging.level.org.springframework.web=WARN"));
+        SpringApplicationBuilder application = new SpringApplicationBuilder(FinanceDashboardApplication.class);
+        if ("postgres".equals(database)) {
+            postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+            postgres.start();
+            application.profiles("prod");
+            args.addAll(List.of("--spring.datasource.url=" + postgres.getJdbcUrl(),
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword()));
+        }
+        context = application.run(args.toArray(new String[0]));
+        financialStatisticsService = context.getBean(FinancialStatisticsService.class);
+        transactionRepository = context.getBean(TransactionRepository.class);
+        user = context.getBean(UserService.class)
+            .createUser("benchmark", "benchmark@example.com", "password123", "Bench", "Mark");
+
+        seed(context.getBean(JdbcTemplate.class));
+        context.getBean(TransactionRollupService.class).rebuildForUser(user.getId());
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        List<Long> categoryIds = jdbcTemplate.queryForList(
+            "SELECT id FROM categories WHERE user_id IS NULL ORDER BY id", Long.class);
+        // One in ten rows is uncategorized
+        StringBuilder category = new StringBuilder("CASE MOD(g, " + (categoryIds.size() + 1) + ")");
+        for (int i = 0; i < categoryIds.size(); i++) {
+            category.append(" WHEN ").append(i).append(" THEN ").append(categoryIds.get(i));
+        }
+        category.append(" END");
+
+        boolean h2 = postgres == null;
+        String series = h2 ? "SYSTEM_RANGE(1, ?) s(g)" : "generate_series(1, ?) g";
+        String date = h2 ? "DATEADD(DAY, MOD(g, " + DAYS + "), DATE '" + FIRST_DAY + "')"
+                         : "DATE '" + FIRST_DAY + "' + MOD(g, " + DAYS + ")";
+        long firstId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM transactions", Long.class) + 1;
+        // Ids above anything the sequence has handed out; nothing else inserts while this runs
+        jdbcTemplate.update("INSERT INTO transactions (id, date, description, amount, type, user_id, category_id) "
+            + "SELECT ? + g, " + date + ", CONCAT('Row ', g), "
+            + "CASE WHEN MOD(g, 5) = 0 THEN 2500.00 ELSE -(MOD(g, 20000) + 1) / 100.0 END, "
+            + "CASE WHEN MOD(g, 5) = 0 THEN 'INCOME' ELSE 'EXPENSE' END, ?, " + category
+            + " FROM " + series, firstId, user.getId(), transactions);
+        if (!h2) {
+            jdbcTemplate.execute("VACUUM ANALYZE transactions");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Benchmark
+    public FinancialSummaryDto summaryFromRollups() {
+        return financialStatisticsService.getFinancialSummaryForUser(user, START, END);
+    }
+
+    @Benchmark
+    public void summaryFromTransactions(Blackhole blackhole) {
+        blackhole.consume(transactionRepository.sumAmountByUserAndTypeAndDateBetween(user, TransactionType.INCOME, START, END));
+        blackhole.consume(transactionRepository.sumAmountByUserAndTypeAndDateBetween(user, TransactionType.EXPENSE, START, END));
+        blackhole.consume(transactionRepository.countTransactionsByUserAndBetweenDates(user, START, END));
+        blackhole.consume(transactionRepository.findCategoryTotalsByUserAndTypeAndDateBetween(user, TransactionType.EXPENSE, START, END));
+        blackhole.consume(transactionRepository.findCategoryTotalsByUserAndTypeAndDateBetween(user, TransactionType.INCOME, START, END));
+        blackhole.consume(transactionRepository.findMonthlyTotalsByUserAndType(user, TransactionType.INCOME));
+        blackhole.consume(transactionRepository.findMonthlyTotalsByUserAndType(user, TransactionType.EXPENSE));
+    }
+}
@@ -0,0 +1,158 @@
+package com.finance.dashboard.service;
+
+import com.finance.dashboard.model.User;
+import jakarta.persistence.EntityManager;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Imports the same file through the COPY sink and the batched JPA sink against a real
+ * PostgreSQL and checks that both store the same rows.
+ */
+@SpringBootTest(properties = {"app.import.copy-enabled=true", "spring.jpa.hibernate.ddl-auto=create-drop"})
+@ActiveProfiles("prod")
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresCopyTransactionImportSinkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresCopyTransactionImportSinkTest.class);
+
+    private static final int ROWS = 2500;
+    private static final String[] DESCRIPTIONS = {
+        "STARBUCKS #1234", "Uber trip", "Monthly salary", "Netflix subscription",
+        "Walmart groceries", "Electric bill", "Pharmacy", "Unknown merchant \"quoted\", with comma"
+    };
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private ExcelProcessingService excelProcessingService;
+
+    @Autowired
+    private TransactionImportWriter transactionImportWriter;
+
+    @Autowired
+    private TransactionImportSink transactionImportSink;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void copyImportStoresTheSameRowsAsBatchedInserts() throws IOException {
+        assertThat(transactionImportSink).isInstanceOf(PostgresCopyTransactionImportSink.class);
+        Path file = writeStatement(tempDir.resolve("statement.xlsx"));
+        User copyUser = userService.createUser("copy", "copy@example.com", "password123", "Copy", "User");
+        User batchedUser = userService.createUser("batched", "batched@example.com", "password123", "Batched", "User");
+
+        // COPY goes first so that it draws the sequence's first block
+        ImportProgress copied = importFile(file, copyUser, "COPY");
+        ReflectionTestUtils.setField(transactionImportWriter, "transactionImportSink",
+                new JpaTransactionImportSink(entityManager));
+        ImportProgress batched;
+        try {
+            batched = importFile(file, batchedUser, "batched inserts");
+        } finally {
+            ReflectionTestUtils.setField(transactionImportWriter, "transactionImportSink", transactionImportSink);
+        }
+
+        assertThat(copied.getRowsSaved()).isEqualTo(ROWS);
+        assertThat(batched.getRowsSaved()).isEqualTo(ROWS);
+
+        List<Long> copyIds = ids(copyUser);
+        List<Long> batchedIds = ids(batchedUser);
+        assertThat(copyIds).hasSize(ROWS).allMatch(id -> id >= 1).doesNotHaveDuplicates();
+        assertThat(batchedIds).hasSize(ROWS).allMatch(id -> id >= 1).doesNotHaveDuplicates();
+        assertThat(copyIds).doesNotContainAnyElementsOf(batchedIds);
+
+        // Both sinks number the rows in file order, so they line up when sorted by id
+        List<Map<String, Object>> copyRows = rows(copyUser);
+        assertThat(copyRows).isEqualTo(rows(batchedUser));
+        assertThat(copyRows).anyMatch(row -> row.get("category_id") != null);
+    }
+
+    private ImportProgress importFile(Path file, User user, String sink) throws IOException {
+        long start = System.nanoTime();
+        ImportProgress progress = excelProcessingService.importExcelFile(file, "statement.xlsx", user, new ImportProgress());
+        long millis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+        logger.info("Imported {} rows through {} in {} ms ({} rows/s)", progress.getRowsSaved(), sink, millis,
+                progress.getRowsSaved() * 1000 / millis);
+        return progress;
+    }
+
+    private List<Long> ids(User user) {
+        return jdbcTemplate.queryForList("SELECT id FROM transactions WHERE user_id = ? ORDER BY id", Long.class, user.getId());
+    }
+
+    private List<Map<String, Object>> rows(User user) {
+        return jdbcTemplate.queryForList("SELECT date, description, amount, type, category_id, reference "
+                + "FROM transactions WHERE user_id = ? ORDER BY id", user.getId());
+    }
+
+    private static Path writeStatement(Path file) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd"));
+            Sheet sheet = workbook.createSheet();
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Date");
+            header.createCell(1).setCellValue("Description");
+            header.createCell(2).setCellValue("Amount");
+            header.createCell(3).setCellValue("Reference");
+            LocalDate firstDay = LocalDate.of(2024, 1, 1);
+            for (int i = 1; i <= ROWS; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue(firstDay.plusDays(i % 365));
+                row.getCell(0).setCellStyle(dateStyle);
+                row.createCell(1).setCellValue(DESCRIPTIONS[i % DESCRIPTIONS.length]);
+                row.createCell(2).setCellValue(i % 10 == 0 ? 2500 + i : -(i % 97) - 0.25);
+                if (i % 3 != 0) {
+                    row.createCell(3).setCellValue("REF-" + i);
+                }
+            }
+            workbook.write(out);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,132 @@
+package com.finance.dashboard.service;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingExcelReaderTest {
+
+    private static final int COLUMN_COUNT = 4;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void streamingAndDomReadersAgreeOnFormulaCells() throws IOException {
+        Path file = tempDir.resolve("formulas.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd"));
+            Sheet sheet = workbook.createSheet();
+            Row values = sheet.createRow(0);
+            values.createCell(0).setCellValue(45000);
+            values.createCell(1).setCellValue("Coffee");
+            values.createCell(2).setCellValue(-4.5);
+            values.createCell(3).setCellValue("EXPENSE");
+            Row formulas = sheet.createRow(1);
+            formulas.createCell(0).setCellFormula("A1+1");
+            formulas.getCell(0).setCellStyle(dateStyle);
+            formulas.createCell(1).setCellFormula("UPPER(B1)");
+            formulas.createCell(2).setCellFormula("C1*2");
+            formulas.createCell(3).setCellFormula("1/0");
+            workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+            // A formula that was never calculated has no cached value
+            sheet.createRow(2).createCell(0).setCellFormula("A1");
+            workbook.write(out);
+        }
+
+        List<ExcelRow> streamed = new ArrayList<>();
+        new StreamingExcelReader().read(file, COLUMN_COUNT, streamed::add);
+        List<ExcelRow> dom = new ArrayList<>();
+        try (InputStream in = Files.newInputStream(file); XSSFWorkbook workbook = new XSSFWorkbook(in)) {
+            for (Row row : workbook.getSheetAt(0)) {
+                dom.add(ExcelRow.fromRow(row, COLUMN_COUNT, workbook.isDate1904()));
+            }
+        }
+
+        assertThat(streamed).hasSameSizeAs(dom);
+        for (int r = 0; r < dom.size(); r++) {
+            for (int c = 0; c < COLUMN_COUNT; c++) {
+                assertSameCell(streamed.get(r).getCell(c), dom.get(r).getCell(c));
+            }
+        }
+
+        ExcelRow formulaRow = dom.get(1);
+        assertThat(formulaRow.getCell(0).getCellType()).isEqualTo(CellType.NUMERIC);
+        assertThat(formulaRow.getCell(0).isDateFormatted()).isTrue();
+        assertThat(formulaRow.getCell(0).getNumericCellValue()).isEqualTo(45001);
+        assertThat(formulaRow.getCell(1).getStringCellValue()).isEqualTo("COFFEE");
+        assertThat(formulaRow.getCell(2).getNumericCellValue()).isEqualTo(-9.0);
+        assertThat(formulaRow.getCell(3).getCellType()).isEqualTo(CellType.ERROR);
+        assertThat(dom.get(2).getCell(0).getCellType()).isEqualTo(CellType.BLANK);
+    }
+
+    @Test
+    void malformedNumericValueBecomesAnErrorCell() throws IOException {
+        Path valid = tempDir.resolve("valid.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(valid)) {
+            Sheet sheet = workbook.createSheet();
+            for (int r = 0; r < 3; r++) {
+                Row row = sheet.createRow(r);
+                row.createCell(1).setCellValue("Row " + r);
+                row.createCell(2).setCellValue(r == 1 ? 12345.5 : -r);
+            }
+            workbook.write(out);
+        }
+        // POI never writes an unparsable <v>, so corrupt the sheet part directly
+        Path file = tempDir.resolve("malformed.xlsx");
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(valid));
+             ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(file))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                byte[] content = in.readAllBytes();
+                if (entry.getName().equals("xl/worksheets/sheet1.xml")) {
+                    String xml = new String(content, StandardCharsets.UTF_8);
+                    assertThat(xml).contains("<v>12345.5</v>");
+                    content = xml.replace("<v>12345.5</v>", "<v>12,345.5x</v>").getBytes(StandardCharsets.UTF_8);
+                }
+                out.putNextEntry(new ZipEntry(entry.getName()));
+                out.write(content);
+                out.closeEntry();
+            }
+        }
+
+        List<ExcelRow> streamed = new ArrayList<>();
+        new StreamingExcelReader().read(file, COLUMN_COUNT, streamed::add);
+
+        // The bad cell fails its own row; the rows after it are still read
+        assertThat(streamed).hasSize(3);
+        assertThat(streamed.get(1).getCell(1).getStringCellValue()).isEqualTo("Row 1");
+        assertThat(streamed.get(1).getCell(2).getCellType()).isEqualTo(CellType.ERROR);
+        assertThat(streamed.get(2).getCell(2).getNumericCellValue()).isEqualTo(-2.0);
+    }
+
+    private static void assertSameCell(ExcelRow.Cell streamed, ExcelRow.Cell dom) {
+        if (streamed == null || dom == null) {
+            assertThat(streamed).isEqualTo(dom);
+            return;
+        }
+        assertThat(streamed.getCellType()).isEqualTo(dom.getCellType());
+        assertThat(streamed.getNumericCellValue()).isEqualTo(dom.getNumericCellValue());
+        assertThat(streamed.getStringCellValue()).isEqualTo(dom.getStringCellValue());
+        assertThat(streamed.getBooleanCellValue()).isEqualTo(dom.getBooleanCellValue());
+        assertThat(streamed.isDateFormatted()).isEqualTo(dom.isDateFormatted());
+    }
+}
@@ -0,0 +1,123 @@
+package com.finance.dashboard.service;
+
+import com.finance.dashboard.model.Transaction;
+import com.finance.dashboard.model.User;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The daily and monthly rollups must add up to exactly what the transactions table stores,
+ * including for imported amounts with more fraction digits than the amount column.
+ */
+@SpringBootTest
+class TransactionRollupServiceTest {
+
+    // Amounts as a spreadsheet holds them; several share a day so unrounded deltas would add up
+    private static final double[] AMOUNTS = {-12.345, -12.345, 0.1 + 0.2, -4.125, 1000.005, -0.004, -7.5};
+
+    @Autowired
+    private ExcelProcessingService excelProcessingService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void rollupsMatchStoredAmountsAfterImportEditAndDelete() throws IOException {
+        User user = userService.createUser("rollups", "rollups@example.com", "password123", "Rollup", "User");
+        ImportProgress progress = excelProcessingService.importExcelFile(writeStatement(tempDir.resolve("statement.xlsx")),
+                "statement.xlsx", user, new ImportProgress());
+        assertThat(progress.getRowsSaved()).isEqualTo(AMOUNTS.length);
+
+        assertThat(jdbcTemplate.queryForList("SELECT amount FROM transactions WHERE user_id = ?", BigDecimal.class, user.getId()))
+                .allMatch(amount -> amount.scale() == Transaction.AMOUNT_SCALE)
+                .anyMatch(amount -> amount.compareTo(new BigDecimal("-12.35")) == 0)
+                .anyMatch(amount -> amount.compareTo(new BigDecimal("0.30")) == 0);
+        assertRollupsMatchTransactions(user);
+
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM transactions WHERE user_id = ? ORDER BY id",
+                Long.class, user.getId());
+        Transaction edited = transactionService.getTransactionById(ids.get(0)).orElseThrow();
+        edited.setAmount(Transaction.roundAmount(new BigDecimal("-7.505")));
+        transactionService.saveTransaction(edited);
+        assertRollupsMatchTransactions(user);
+
+        transactionService.deleteTransaction(ids.get(1));
+        assertRollupsMatchTransactions(user);
+    }
+
+    private void assertRollupsMatchTransactions(User user) {
+        List<Map<String, Object>> transactions = jdbcTemplate.queryForList(
+                "SELECT date AS period_start, SUM(amount) AS total, COUNT(*) AS cnt FROM transactions "
+                + "WHERE user_id = ? GROUP BY date ORDER BY date", user.getId());
+        List<Map<String, Object>> daily = jdbcTemplate.queryForList(
+                "SELECT period_start, SUM(total_amount) AS total, SUM(transaction_count) AS cnt FROM transaction_daily_rollups "
+                + "WHERE user_id = ? GROUP BY period_start ORDER BY period_start", user.getId());
+        assertSameTotals(daily, transactions);
+
+        BigDecimal total = jdbcTemplate.queryForObject(
+                "SELECT SUM(amount) FROM transactions WHERE user_id = ?", BigDecimal.class, user.getId());
+        BigDecimal monthly = jdbcTemplate.queryForObject(
+                "SELECT SUM(total_amount) FROM transaction_monthly_rollups WHERE user_id = ?", BigDecimal.class, user.getId());
+        assertThat(monthly).isEqualByComparingTo(total);
+    }
+
+    private static void assertSameTotals(List<Map<String, Object>> rollups, List<Map<String, Object>> transactions) {
+        assertThat(rollups).hasSameSizeAs(transactions);
+        for (int i = 0; i < transactions.size(); i++) {
+            Map<String, Object> expected = transactions.get(i);
+            Map<String, Object> actual = rollups.get(i);
+            assertThat(actual.get("period_start")).isEqualTo(expected.get("period_start"));
+            assertThat((BigDecimal) actual.get("total")).as("total on %s", expected.get("period_start"))
+                    .isEqualByComparingTo((BigDecimal) expected.get("total"));
+            assertThat(((Number) actual.get("cnt")).longValue()).isEqualTo(((Number) expected.get("cnt")).longValue());
+        }
+    }
+
+    private static Path writeStatement(Path file) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd"));
+            Sheet sheet = workbook.createSheet();
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Date");
+            header.createCell(1).setCellValue("Description");
+            header.createCell(2).setCellValue("Amount");
+            for (int i = 0; i < AMOUNTS.length; i++) {
+                Row row = sheet.createRow(i + 1);
+                row.createCell(0).setCellValue(LocalDate.of(2024, 3, 1 + i % 3));
+                row.getCell(0).setCellStyle(dateStyle);
+                row.createCell(1).setCellValue("Row " + i);
+                row.createCell(2).setCellValue(AMOUNTS[i]);
+            }
+            workbook.write(out);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,142 @@
+package com.finance.dashboard.service;
+
+import com.finance.dashboard.dto.BudgetComparisonDto;
+import com.finance.dashboard.dto.CategoryWithBudgetDto;
+import com.finance.dashboard.model.Category;
+import com.finance.dashboard.model.User;
+import com.finance.dashboard.model.UserCategoryBudget;
+import com.finance.dashboard.repository.CategoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({UserCategoryBudgetService.class, DataVersionService.class, TransactionRollupService.class,
+         FinancialStatisticsService.class})
+class UserCategoryBudgetServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserCategoryBudgetService userCategoryBudgetService;
+
+    @Autowired
+    private FinancialStatisticsService financialStatisticsService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    private CategoryService categoryService;
+    private Statistics statistics;
+    private User alice;
+    private Category overridden;
+    private Category notOverridden;
+    private Category ownWithBudget;
+    private Category ownWithoutBudget;
+    private Category othersCategory;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        alice = entityManager.persist(new User("alice", "alice@example.com", "password"));
+        User bob = entityManager.persist(new User("bob", "bob@example.com", "password"));
+
+        overridden = entityManager.persist(new Category("Groceries", "System category", "#111111"));
+        notOverridden = entityManager.persist(new Category("Travel", "System category", "#222222"));
+        // A budget on a system category itself is not used; only the user's override counts
+        notOverridden.setMonthlyBudget(new BigDecimal("999.00"));
+        ownWithBudget = userCategory("Hobbies", alice, new BigDecimal("120.00"));
+        ownWithoutBudget = userCategory("Pets", alice, null);
+        othersCategory = userCategory("Garden", bob, new BigDecimal("80.00"));
+
+        entityManager.persist(new UserCategoryBudget(alice, overridden, new BigDecimal("300.00")));
+        // Bob's overrides must not leak into Alice's budgets
+        entityManager.persist(new UserCategoryBudget(bob, overridden, new BigDecimal("45.00")));
+        entityManager.persist(new UserCategoryBudget(bob, notOverridden, new BigDecimal("50.00")));
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        // Built by hand so its @PostConstruct does not add the default system categories
+        categoryService = new CategoryService(categoryRepository, userCategoryBudgetService, dataVersionService,
+                new SimpleMeterRegistry(), 300, 1000);
+    }
+
+    @Test
+    void resolvesEveryAvailableCategoryInOneQuery() {
+        Map<Long, BigDecimal> budgets = userCategoryBudgetService.getEffectiveBudgetsForUser(alice);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(budgets).containsOnlyKeys(overridden.getId(), notOverridden.getId(),
+                ownWithBudget.getId(), ownWithoutBudget.getId());
+        assertThat(budgets.get(overridden.getId())).isEqualByComparingTo("300.00");
+        assertThat(budgets.get(notOverridden.getId())).isEqualByComparingTo("0");
+        assertThat(budgets.get(ownWithBudget.getId())).isEqualByComparingTo("120.00");
+        assertThat(budgets.get(ownWithoutBudget.getId())).isEqualByComparingTo("0");
+        assertThat(budgets).doesNotContainKey(othersCategory.getId());
+    }
+
+    @Test
+    void matchesThePerCategoryLookup() {
+        Map<Long, BigDecimal> budgets = userCategoryBudgetService.getEffectiveBudgetsForUser(alice);
+
+        for (Category category : List.of(overridden, notOverridden, ownWithBudget, ownWithoutBudget)) {
+            Category managed = entityManager.find(Category.class, category.getId());
+            assertThat(budgets.get(category.getId()))
+                    .as(category.getName())
+                    .isEqualByComparingTo(userCategoryBudgetService.getBudgetForUserAndCategory(alice, managed));
+        }
+    }
+
+    @Test
+    void categoriesEndpointTakesTwoStatements() {
+        List<CategoryWithBudgetDto> categories = categoryService.getCategoriesWithBudgetsForUser(alice);
+
+        // The available categories and their budgets, however many categories there are
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(categories).extracting(CategoryWithBudgetDto::getName)
+                .containsExactlyInAnyOrder("Groceries", "Travel", "Hobbies", "Pets");
+        assertThat(categories).filteredOn(CategoryWithBudgetDto::isHasBudget)
+                .extracting(CategoryWithBudgetDto::getName)
+                .containsExactlyInAnyOrder("Groceries", "Hobbies");
+    }
+
+    @Test
+    void budgetComparisonTakesThreeStatements() {
+        List<BudgetComparisonDto> comparisons = financialStatisticsService.getBudgetComparison(alice,
+                financialStatisticsService.getTotalsForUser(alice, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31)));
+
+        // The month's rollup totals, the available categories and their budgets
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(comparisons).extracting(BudgetComparisonDto::getCategoryName)
+                .containsExactlyInAnyOrder("Groceries", "Hobbies");
+        assertThat(comparisons).filteredOn(comparison -> comparison.getCategoryName().equals("Groceries"))
+                .singleElement()
+                .satisfies(comparison -> assertThat(comparison.getBudgetAmount()).isEqualByComparingTo("300.00"));
+    }
+
+    private Category userCategory(String name, User owner, BigDecimal monthlyBudget) {
+        Category category = new Category(name, "User category", "#333333");
+        category.setUser(owner);
+        category.setMonthlyBudget(monthlyBudget);
+        return entityManager.persist(category);
+    }
+}
@@ -0,0 +1,154 @@
+package com.finance.dashboard.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class AmountParserTest {
+
+    // Fixed seed so a failure can be reproduced
+    private static final long SEED = 20240101L;
+    private static final int ITERATIONS = 100_000;
+
+    static Stream<Arguments> documentedForms() {
+        return Stream.of(
+            arguments("1234.56", "1234.56"),
+            arguments("1,234.56", "1234.56"),
+            arguments("1.234,56", "1234.56"),
+            arguments("1,234,567.89", "1234567.89"),
+            arguments("1.234.567,89", "1234567.89"),
+            arguments("1.234.567", "1234567"),
+            arguments("12,50", "12.50"),
+            arguments("1,234", "1234"),
+            arguments("1.234", "1.234"),
+            arguments("-12.00", "-12.00"),
+            arguments("+12", "12"),
+            arguments("(12.00)", "-12.00"),
+            arguments("(1,234.50)", "-1234.50"),
+            arguments("12.00-", "-12.00"),
+            arguments("  42  ", "42"),
+            arguments(" 1 234.5 ", null),
+            arguments("0.000001", "0.000001"),
+            arguments("-0.00", "0.00"),
+            arguments("999999999999999999", "999999999999999999"),
+            arguments("9999999999999999.99", "9999999999999999.99")
+        );
+    }
+
+    /**
+     * Inputs the earlier import code (strip commas, then match -?digits[.digits]) read
+     * differently. Grouping is still accepted wherever that code accepted it; only a lone
+     * comma without exactly three digits after it is now a decimal comma.
+     */
+    static Stream<Arguments> changedFromCommaStripping() {
+        return Stream.of(
+            // Still read as grouping, like before
+            arguments("1234,567", "1234567"),
+            arguments("1,23,456", "123456"),
+            arguments("1,23,456.75", "123456.75"),
+            // Now a decimal comma (was 125, 1250 and 12345)
+            arguments("12,5", "12.5"),
+            arguments("12,50", "12.50"),
+            arguments("1,2345", "1.2345"),
+            // Newly accepted (were rejected)
+            arguments("(12.00)", "-12.00"),
+            arguments("12.00-", "-12.00"),
+            arguments("+12", "12"),
+            arguments("1.234,56", "1234.56")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource({"documentedForms", "changedFromCommaStripping"})
+    void parsesDocumentedForms(String text, String expected) {
+        BigDecimal parsed = AmountParser.parse(text);
+        if (expected == null) {
+            assertThat(parsed).isNull();
+        } else {
+            assertThat(parsed).isEqualTo(new BigDecimal(expected));
+        }
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {
+        " ", "-", "+", "()", "(12", "12)", "--12", "-12-", "(-12)", "12.", ".5", ",5", "1,,234", "1..5",
+        "1,234,", "1.234,56.7", "1,234.56,7", "12.34.56,78,9", "1 234", "12a", "0x10", "1e5", "NaN", "١٢٣",
+        // Overflow: more than 18 significant digits
+        "99999999999999999999", "9223372036854775808", "1,000,000,000,000,000,000.00"
+    })
+    void rejectsMalformedAmounts(String text) {
+        assertThat(AmountParser.parse(text)).isNull();
+    }
+
+    @Test
+    void roundTripsPlainStrings() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < ITERATIONS; i++) {
+            BigDecimal amount = randomAmount(random);
+            String text = amount.toPlainString();
+            assertThat(AmountParser.parse(text)).as(text).isEqualTo(new BigDecimal(text));
+        }
+    }
+
+    @Test
+    void roundTripsGroupedFormats() {
+        DecimalFormat us = new DecimalFormat("#,##0.00", DecimalFormatSymbols.getInstance(Locale.US));
+        DecimalFormat german = new DecimalFormat("#,##0.00", DecimalFormatSymbols.getInstance(Locale.GERMANY));
+        Random random = new Random(SEED);
+        for (int i = 0; i < ITERATIONS; i++) {
+            BigDecimal amount = BigDecimal.valueOf(random.nextLong() % 1_000_000_000_000_000L, 2);
+            assertThat(AmountParser.parse(us.format(amount))).as(us.format(amount)).isEqualTo(amount);
+            assertThat(AmountParser.parse(german.format(amount))).as(german.format(amount)).isEqualTo(amount);
+        }
+    }
+
+    @Test
+    void neverThrowsOnRandomInput() {
+        char[] alphabet = "0123456789.,-+()  e".toCharArray();
+        Random random = new Random(SEED);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < ITERATIONS; i++) {
+            text.setLength(0);
+            int length = random.nextInt(30);
+            for (int j = 0; j < length; j++) {
+                text.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            String input = text.toString();
+            assertThatCode(() -> {
+                BigDecimal parsed = AmountParser.parse(input);
+                // Whatever is accepted must be a valid plain number once the separators are normalized
+                if (parsed != null && input.matches("\\s*-?\\d+(\\.\\d+)?\\s*")) {
+                    assertThat(parsed).isEqualTo(new BigDecimal(input.trim()));
+                }
+            }).as(input).doesNotThrowAnyException();
+        }
+    }
+
+    private static BigDecimal randomAmount(Random random) {
+        // Up to 17 significant digits, so the plain string stays within 18 digits
+        long unscaled = random.nextLong() % 100_000_000_000_000_000L;
+        int digits = Long.toString(Math.abs(unscaled)).length();
+        int scale = random.nextInt(Math.max(1, 18 - digits) + 1);
+        if (random.nextInt(10) == 0) {
+            // Negative scale: toPlainString adds trailing zeros
+            scale = -random.nextInt(3);
+            unscaled /= 1000;
+        }
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+}
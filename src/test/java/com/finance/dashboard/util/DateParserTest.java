@@ -0,0 +1,83 @@
+package com.finance.dashboard.util;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DateParserTest {
+
+    private static final DateParser PARSER = new DateParser(List.of("yyyy-MM-dd", "dd.MM.yyyy", "dd/MM/yyyy"));
+
+    @Test
+    void phantomLeapDayMatchesPoi() {
+        // Serial 59 is 1900-02-28, 60 is Excel's non-existent 1900-02-29 and 61 is 1900-03-01
+        assertThat(DateParser.fromExcelSerial(59, false)).isEqualTo(LocalDate.of(1900, 2, 28));
+        assertThat(DateParser.fromExcelSerial(61, false)).isEqualTo(LocalDate.of(1900, 3, 1));
+        for (int serial = 0; serial <= 70; serial++) {
+            assertThat(DateParser.fromExcelSerial(serial, false)).as("serial %d", serial).isEqualTo(poi(serial, false));
+        }
+    }
+
+    @Test
+    void wholeSerialsMatchPoiInBothDateSystems() {
+        for (int serial = 0; serial < 100_000; serial++) {
+            assertThat(DateParser.fromExcelSerial(serial, false)).as("1900 serial %d", serial).isEqualTo(poi(serial, false));
+            assertThat(DateParser.fromExcelSerial(serial, true)).as("1904 serial %d", serial).isEqualTo(poi(serial, true));
+        }
+        assertThat(DateParser.fromExcelSerial(2958465, false)).isEqualTo(LocalDate.of(9999, 12, 31));
+    }
+
+    @Test
+    void timeOfDayIsIgnoredLikePoi() {
+        Random random = new Random(20240101L);
+        for (int i = 0; i < 100_000; i++) {
+            double serial = random.nextDouble() * 2_900_000;
+            boolean date1904 = random.nextBoolean();
+            assertThat(DateParser.fromExcelSerial(serial, date1904)).as("serial %s", serial)
+                    .isEqualTo(poi(serial, date1904));
+        }
+        // POI rounds the time to the millisecond, so the last half millisecond belongs to the next day
+        assertThat(DateParser.fromExcelSerial(45000.9999999999, false)).isEqualTo(poi(45000.9999999999, false));
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {-1, -0.5, 2958466, 1e12, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY})
+    void rejectsSerialsOutsideExcelsRange(double serial) {
+        assertThat(DateParser.fromExcelSerial(serial, false)).isNull();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "2024-01-31, 2024-01-31",
+        "'  2024-02-29  ', 2024-02-29",
+        "31.01.2024, 2024-01-31",
+        "29/02/2024, 2024-02-29",
+        "01/12/2024, 2024-12-01",
+        "0001-01-01, 0001-01-01",
+        "9999-12-31, 9999-12-31"
+    })
+    void parsesConfiguredPatterns(String text, LocalDate expected) {
+        assertThat(PARSER.parse(text)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"2023-02-29", "2024-13-01", "2024-00-10", "2024-01-32", "0000-01-01", "2024-1-5",
+        "2024/01/31", "31.02.2024", "31-01-2024", "2024-01-31T10:00", "20240131", "yesterday", "2024-01-3x"})
+    void rejectsInvalidOrUnconfiguredDates(String text) {
+        assertThat(PARSER.parse(text)).isNull();
+    }
+
+    private static LocalDate poi(double serial, boolean date1904) {
+        return DateUtil.getLocalDateTime(serial, date1904).toLocalDate();
+    }
+}
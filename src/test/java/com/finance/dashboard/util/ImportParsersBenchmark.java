@@ -0,0 +1,88 @@
+package com.finance.dashboard.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * {@link AmountParser} and {@link DateParser} against the parsing the importer did before
+ * them (strip commas + regex + {@code new BigDecimal}; {@code LocalDate.parse} per pattern
+ * with an exception per miss), over a mix of valid and invalid cells. Not run by the build:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main ImportParsersBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImportParsersBenchmark {
+
+    private static final Pattern AMOUNT_PATTERN = Pattern.compile("^-?\\d+(\\.\\d+)?$");
+    private static final List<String> DATE_PATTERNS = List.of("yyyy-MM-dd", "dd.MM.yyyy", "dd/MM/yyyy");
+    private static final List<DateTimeFormatter> FORMATTERS = DATE_PATTERNS.stream()
+            .map(DateTimeFormatter::ofPattern)
+            .toList();
+
+    private final String[] amounts = {"1234.56", "-12.00", "1,234.56", "987654.3", "n/a", "-0.99", "12,345,678.90", "--"};
+    private final String[] dates = {"2024-01-31", "31.01.2024", "29/02/2024", "not a date", "2024-12-01", "01.06.2023"};
+    private final DateParser dateParser = new DateParser(DATE_PATTERNS);
+
+    @Benchmark
+    public void amountParser(Blackhole blackhole) {
+        for (String amount : amounts) {
+            blackhole.consume(AmountParser.parse(amount));
+        }
+    }
+
+    @Benchmark
+    public void amountRegex(Blackhole blackhole) {
+        for (String amount : amounts) {
+            String stripped = amount.trim().replace(",", "");
+            blackhole.consume(AMOUNT_PATTERN.matcher(stripped).matches() ? new BigDecimal(stripped) : null);
+        }
+    }
+
+    @Benchmark
+    public void dateParser(Blackhole blackhole) {
+        for (String date : dates) {
+            blackhole.consume(dateParser.parse(date));
+        }
+    }
+
+    @Benchmark
+    public void dateParseWithExceptions(Blackhole blackhole) {
+        for (String date : dates) {
+            blackhole.consume(parseWithExceptions(date));
+        }
+    }
+
+    private static LocalDate parseWithExceptions(String text) {
+        for (DateTimeFormatter formatter : FORMATTERS) {
+            try {
+                return LocalDate.parse(text, formatter);
+            } catch (DateTimeParseException e) {
+                // try the next pattern
+            }
+        }
+        return null;
+    }
+}
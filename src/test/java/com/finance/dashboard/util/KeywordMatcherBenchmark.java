@@ -0,0 +1,110 @@
+package com.finance.dashboard.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link KeywordMatcher} against the loop CategoryService ran before it (lower-case the
+ * description, then {@code String.contains} for every keyword in the table), over a mix of
+ * descriptions with and without a match. {@code extraKeywords} pads the category table with
+ * merchant names to show how each approach scales with the table size. Not run by the build:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main KeywordMatcherBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeywordMatcherBenchmark {
+
+    // A sample of CategoryService's keyword table
+    private static final String[][] KEYWORDS = {
+            {"restaurant", "Food & Dining"}, {"grocery", "Food & Dining"}, {"supermarket", "Food & Dining"},
+            {"starbucks", "Food & Dining"}, {"cafe", "Food & Dining"}, {"food", "Food & Dining"},
+            {"fuel", "Transportation"}, {"uber", "Transportation"}, {"taxi", "Transportation"},
+            {"parking", "Transportation"}, {"amazon", "Shopping"}, {"walmart", "Shopping"},
+            {"store", "Shopping"}, {"netflix", "Entertainment"}, {"spotify", "Entertainment"},
+            {"cinema", "Entertainment"}, {"electric", "Bills & Utilities"}, {"internet", "Bills & Utilities"},
+            {"phone", "Bills & Utilities"}, {"pharmacy", "Healthcare"}, {"insurance", "Healthcare"},
+            {"salary", "Salary"}, {"payroll", "Salary"}, {"freelance", "Freelance Income"},
+            {"dividend", "Investment Income"}, {"interest", "Interest Income"},
+            {"bank interest", "Interest Income"}, {"bonus", "Bonus Income"}, {"transfer", "Transfer"},
+            {"withdrawal", "Transfer"}
+    };
+
+    private static final Set<String> AVAILABLE_CATEGORIES = Set.of("Food & Dining", "Transportation", "Shopping",
+            "Entertainment", "Bills & Utilities", "Healthcare", "Salary", "Freelance Income", "Investment Income",
+            "Interest Income", "Bonus Income", "Transfer");
+
+    private final String[] descriptions = {
+            "CARD PAYMENT STARBUCKS 0423 LONDON",
+            "Monthly salary ACME Corp",
+            "Direct debit Thames Water ref 88231",
+            "POS 1182 LOCAL BAKERY AND DELI",
+            "Bank interest for March",
+            "Online purchase AMAZON MKTPLACE EU",
+            "SEPA transfer to savings account",
+            "Refund 2291-AX7 card ending 4421"
+    };
+
+    @Param({"0", "1000"})
+    public int extraKeywords;
+
+    private Map<String, String> categoryKeywords;
+    private KeywordMatcher matcher;
+
+    @Setup
+    public void compile() {
+        categoryKeywords = new HashMap<>();
+        for (String[] keyword : KEYWORDS) {
+            categoryKeywords.put(keyword[0], keyword[1]);
+        }
+        for (int i = 0; i < extraKeywords; i++) {
+            categoryKeywords.put("merchant" + i + " ltd", "Shopping");
+        }
+        matcher = KeywordMatcher.compile(categoryKeywords);
+    }
+
+    @Benchmark
+    public void keywordMatcher(Blackhole blackhole) {
+        for (String description : descriptions) {
+            blackhole.consume(matcher.findBest(description, AVAILABLE_CATEGORIES::contains));
+        }
+    }
+
+    @Benchmark
+    public void containsLoop(Blackhole blackhole) {
+        for (String description : descriptions) {
+            blackhole.consume(firstContained(description));
+        }
+    }
+
+    private String firstContained(String description) {
+        String lowerDescription = description.toLowerCase();
+        for (Map.Entry<String, String> entry : categoryKeywords.entrySet()) {
+            if (lowerDescription.contains(entry.getKey()) && AVAILABLE_CATEGORIES.contains(entry.getValue())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,124 @@
+package com.finance.dashboard.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordMatcherTest {
+
+    @Test
+    void longestKeywordWins() {
+        KeywordMatcher matcher = KeywordMatcher.compile(Map.of(
+                "interest", "Interest Income",
+                "bank interest", "Bank Interest",
+                "bank", "Transfer"));
+
+        assertThat(matcher.findBest("Monthly BANK INTEREST credit")).isEqualTo("Bank Interest");
+        assertThat(matcher.findBest("interest on savings")).isEqualTo("Interest Income");
+    }
+
+    @Test
+    void earliestStartWinsBetweenKeywordsOfEqualLength() {
+        KeywordMatcher matcher = KeywordMatcher.compile(Map.of("taxi", "Taxi", "uber", "Uber"));
+
+        assertThat(matcher.findBest("uber, then a taxi")).isEqualTo("Uber");
+        assertThat(matcher.findBest("taxi, then an uber")).isEqualTo("Taxi");
+    }
+
+    @Test
+    void rejectedValuesFallBackToTheNextBestMatch() {
+        KeywordMatcher matcher = KeywordMatcher.compile(Map.of(
+                "bank interest", "Bank Interest",
+                "interest", "Interest Income"));
+
+        assertThat(matcher.findBest("bank interest", value -> !value.equals("Bank Interest"))).isEqualTo("Interest Income");
+        assertThat(matcher.findBest("bank interest", value -> false)).isNull();
+        assertThat(matcher.findBestIndex("bank interest", value -> false)).isEqualTo(-1);
+    }
+
+    @Test
+    void blankAndDuplicateKeywordsAreIgnored() {
+        Map<String, String> keywords = new LinkedHashMap<>();
+        keywords.put("Cafe", "Food & Dining");
+        keywords.put("cafe", "Other");
+        keywords.put(" ", "Blank");
+        KeywordMatcher matcher = KeywordMatcher.compile(keywords);
+
+        assertThat(matcher.size()).isEqualTo(1);
+        assertThat(matcher.keyword(0)).isEqualTo("cafe");
+        assertThat(matcher.value(0)).isEqualTo("Food & Dining");
+        assertThat(matcher.findBest("CAFE NERO")).isEqualTo("Food & Dining");
+        assertThat(matcher.findBest("   ")).isNull();
+        assertThat(matcher.findBest("")).isNull();
+    }
+
+    /**
+     * Compare against a String.contains scan over every keyword on random keyword tables and
+     * texts over a small alphabet, so keywords overlap, nest and share prefixes and suffixes.
+     */
+    @Test
+    void matchesBruteForceScanOnRandomInputs() {
+        Random random = new Random(42);
+        for (int round = 0; round < 500; round++) {
+            Map<String, String> keywords = new LinkedHashMap<>();
+            int keywordCount = 1 + random.nextInt(30);
+            while (keywords.size() < keywordCount) {
+                String keyword = randomText(random, 1 + random.nextInt(6));
+                if (!keyword.isBlank()) {
+                    keywords.putIfAbsent(keyword, "value-" + random.nextInt(8));
+                }
+            }
+            KeywordMatcher matcher = KeywordMatcher.compile(keywords);
+            Set<String> accepted = new HashSet<>();
+            for (int i = 0; i < 4; i++) {
+                accepted.add("value-" + random.nextInt(8));
+            }
+
+            for (int i = 0; i < 20; i++) {
+                String text = randomText(random, random.nextInt(40));
+                if (random.nextBoolean()) {
+                    text = text.toUpperCase();
+                }
+                assertThat(matcher.findBest(text)).as(text).isEqualTo(bruteForce(keywords, text, value -> true));
+                assertThat(matcher.findBest(text, accepted::contains)).as(text)
+                        .isEqualTo(bruteForce(keywords, text, accepted::contains));
+            }
+        }
+    }
+
+    private static String bruteForce(Map<String, String> keywords, String text, Predicate<String> accept) {
+        String lowerText = text.toLowerCase();
+        String bestKeyword = null;
+        int bestStart = Integer.MAX_VALUE;
+        for (Map.Entry<String, String> entry : keywords.entrySet()) {
+            String keyword = entry.getKey();
+            if (!lowerText.contains(keyword) || !accept.test(entry.getValue())) {
+                continue;
+            }
+            int start = lowerText.indexOf(keyword);
+            if (bestKeyword == null
+                    || keyword.length() > bestKeyword.length()
+                    || (keyword.length() == bestKeyword.length() && start < bestStart)) {
+                bestKeyword = keyword;
+                bestStart = start;
+            }
+        }
+        return bestKeyword != null ? keywords.get(bestKeyword) : null;
+    }
+
+    private static String randomText(Random random, int length) {
+        String alphabet = "abc ";
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,157 @@
+package com.finance.dashboard.util;
+
+import com.finance.dashboard.model.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The two aggregations FinancialStatisticsService moved from {@link BigDecimal} to long minor
+ * units, each next to its BigDecimal form from before:
+ * <ul>
+ * <li>category summary: merge rollup totals per category name, sort, sum the grand total and
+ * compute each category's percentage ({@link Money} against {@code add}, {@code abs} and
+ * {@code divide(grandTotal, 4, HALF_UP).multiply(100)});</li>
+ * <li>trends: bucket daily rollup rows by month ({@link TimeSeries} against a
+ * {@code TreeMap<YearMonth, BigDecimal>} per type).</li>
+ * </ul>
+ * {@code rows} is the number of rollup rows fed to each. Run with {@code -prof gc} to compare
+ * allocations. Not run by the build:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main MoneyAggregationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyAggregationBenchmark {
+
+    // Fixed seed so every run aggregates the same rows
+    private static final long SEED = 20240101L;
+    private static final int CATEGORIES = 12;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2022, 1, 1);
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    @Param({"100", "10000"})
+    private int rows;
+
+    private String[] categoryNames;
+    private BigDecimal[] amounts;
+    private Money[] monies;
+    private LocalDate[] dates;
+    private TransactionType[] types;
+    private LocalDate lastDay;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(SEED);
+        categoryNames = new String[rows];
+        amounts = new BigDecimal[rows];
+        monies = new Money[rows];
+        dates = new LocalDate[rows];
+        types = new TransactionType[rows];
+        for (int i = 0; i < rows; i++) {
+            categoryNames[i] = "Category " + random.nextInt(CATEGORIES);
+            types[i] = random.nextInt(4) == 0 ? TransactionType.INCOME : TransactionType.EXPENSE;
+            long minorUnits = 1 + random.nextInt(500_000);
+            amounts[i] = BigDecimal.valueOf(types[i] == TransactionType.INCOME ? minorUnits : -minorUnits, 2);
+            monies[i] = Money.of(amounts[i]);
+            // Daily rollup rows spread over two years
+            dates[i] = FIRST_DAY.plusDays(random.nextInt(730));
+        }
+        lastDay = FIRST_DAY.plusDays(729);
+    }
+
+    @Benchmark
+    public void categorySummaryBigDecimal(Blackhole blackhole) {
+        Map<String, BigDecimal> amountsByName = new HashMap<>();
+        for (int i = 0; i < rows; i++) {
+            amountsByName.merge(categoryNames[i], amounts[i], BigDecimal::add);
+        }
+        List<Map.Entry<String, BigDecimal>> results = new ArrayList<>(amountsByName.entrySet());
+        results.sort(Map.Entry.<String, BigDecimal>comparingByValue().reversed());
+        BigDecimal grandTotal = BigDecimal.ZERO;
+        for (Map.Entry<String, BigDecimal> result : results) {
+            grandTotal = grandTotal.add(result.getValue().abs());
+        }
+        for (Map.Entry<String, BigDecimal> result : results) {
+            double percentage = 0.0;
+            if (grandTotal.compareTo(BigDecimal.ZERO) > 0) {
+                percentage = result.getValue().abs().divide(grandTotal, 4, RoundingMode.HALF_UP)
+                        .multiply(HUNDRED).doubleValue();
+            }
+            blackhole.consume(result.getValue());
+            blackhole.consume(percentage);
+        }
+    }
+
+    @Benchmark
+    public void categorySummaryMoney(Blackhole blackhole) {
+        Map<String, Money> amountsByName = new HashMap<>();
+        for (int i = 0; i < rows; i++) {
+            amountsByName.merge(categoryNames[i], monies[i], Money::plus);
+        }
+        List<Map.Entry<String, Money>> results = new ArrayList<>(amountsByName.entrySet());
+        results.sort(Map.Entry.<String, Money>comparingByValue().reversed());
+        Money grandTotal = Money.ZERO;
+        for (Map.Entry<String, Money> result : results) {
+            grandTotal = grandTotal.plus(result.getValue().abs());
+        }
+        for (Map.Entry<String, Money> result : results) {
+            blackhole.consume(result.getValue().toBigDecimal());
+            blackhole.consume(result.getValue().abs().percentOf(grandTotal));
+        }
+    }
+
+    @Benchmark
+    public void trendsBigDecimal(Blackhole blackhole) {
+        SortedMap<YearMonth, BigDecimal> income = new TreeMap<>();
+        SortedMap<YearMonth, BigDecimal> expenses = new TreeMap<>();
+        for (int i = 0; i < rows; i++) {
+            (types[i] == TransactionType.INCOME ? income : expenses)
+                    .merge(YearMonth.from(dates[i]), amounts[i], BigDecimal::add);
+        }
+        for (YearMonth month = YearMonth.from(FIRST_DAY); !month.isAfter(YearMonth.from(lastDay)); month = month.plusMonths(1)) {
+            blackhole.consume(income.getOrDefault(month, BigDecimal.ZERO));
+            blackhole.consume(expenses.getOrDefault(month, BigDecimal.ZERO));
+        }
+    }
+
+    @Benchmark
+    public void trendsTimeSeries(Blackhole blackhole) {
+        TimeSeries series = new TimeSeries(TimeSeries.Granularity.MONTH, FIRST_DAY, lastDay);
+        for (int i = 0; i < rows; i++) {
+            series.add(dates[i], types[i], amounts[i]);
+        }
+        for (int bucket = 0; bucket < series.size(); bucket++) {
+            blackhole.consume(series.getIncome(bucket));
+            blackhole.consume(series.getExpenses(bucket));
+        }
+    }
+}
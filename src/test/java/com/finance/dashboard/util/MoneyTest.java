@@ -0,0 +1,127 @@
+package com.finance.dashboard.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    // Fixed seed so a failure can be reproduced
+    private static final long SEED = 20240101L;
+    private static final int ITERATIONS = 100_000;
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    @Test
+    void convertsExactlyToAndFromBigDecimal() {
+        assertThat(Money.of(new BigDecimal("1234.56")).getMinorUnits()).isEqualTo(123456);
+        assertThat(Money.of(new BigDecimal("-0.5")).getMinorUnits()).isEqualTo(-50);
+        assertThat(Money.of(new BigDecimal("12")).toBigDecimal()).isEqualTo(new BigDecimal("12.00"));
+        assertThat(Money.ofMinor(-1).toBigDecimal()).isEqualTo(new BigDecimal("-0.01"));
+        assertThat(Money.of(new BigDecimal("1500"), JPY).getMinorUnits()).isEqualTo(1500);
+        assertThat(Money.ofMinor(0)).isSameAs(Money.ZERO);
+        assertThat(Money.ofMinor(-123456)).hasToString("USD -1234.56");
+    }
+
+    @Test
+    void rejectsAmountsThatDoNotFit() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("12.345"))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("0.5"), JPY)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("92233720368547758.08"))).isInstanceOf(ArithmeticException.class);
+        assertThat(Money.of(new BigDecimal("92233720368547758.07")).getMinorUnits()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void arithmeticOnNegativeAmounts() {
+        Money expense = Money.ofMinor(-4550);
+        assertThat(expense.signum()).isEqualTo(-1);
+        assertThat(expense.abs()).isEqualTo(Money.ofMinor(4550));
+        assertThat(expense.negate()).isEqualTo(Money.ofMinor(4550));
+        assertThat(expense.plus(Money.ofMinor(-50))).isEqualTo(Money.ofMinor(-4600));
+        assertThat(expense.minus(Money.ofMinor(-4550)).isZero()).isTrue();
+        assertThat(expense.compareTo(Money.ZERO)).isNegative();
+    }
+
+    @Test
+    void overflowThrowsInsteadOfWrapping() {
+        Money max = Money.ofMinor(Long.MAX_VALUE);
+        Money min = Money.ofMinor(Long.MIN_VALUE);
+        assertThatThrownBy(() -> max.plus(Money.ofMinor(1))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> min.minus(Money.ofMinor(1))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(min::negate).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(min::abs).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> min.divideRoundingHalfUp(-1)).isInstanceOf(ArithmeticException.class);
+        // amount * 10 000 overflows before the division
+        assertThatThrownBy(() -> max.percentOf(max)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void rejectsMixedCurrencies() {
+        Money euros = Money.ofMinor(100, EUR);
+        assertThatThrownBy(() -> Money.ofMinor(100).plus(euros)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.ofMinor(100).percentOf(euros)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(Money.ofMinor(100)).isNotEqualTo(euros);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "5, 2, 3",
+        "-5, 2, -3",
+        "5, -2, -3",
+        "-5, -2, 3",
+        "7, 3, 2",
+        "8, 3, 3",
+        "-7, 3, -2",
+        "-8, 3, -3",
+        "0, 7, 0",
+        "9223372036854775807, 2, 4611686018427387904",
+        "-9223372036854775808, 2, -4611686018427387904",
+        "-9223372036854775808, -9223372036854775808, 1",
+        "9223372036854775807, -9223372036854775808, -1",
+        "5, -9223372036854775808, 0",
+    })
+    void divideRoundsHalfAwayFromZero(long minorUnits, long divisor, long expected) {
+        assertThat(Money.ofMinor(minorUnits).divideRoundingHalfUp(divisor).getMinorUnits()).isEqualTo(expected);
+    }
+
+    @Test
+    void divideMatchesBigDecimalHalfUp() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < ITERATIONS; i++) {
+            long minorUnits = random.nextLong() >> random.nextInt(64);
+            long divisor = random.nextLong() >> random.nextInt(64);
+            if (divisor == 0 || (minorUnits == Long.MIN_VALUE && divisor == -1)) {
+                continue;
+            }
+            long expected = BigDecimal.valueOf(minorUnits)
+                    .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP).longValueExact();
+            assertThat(Money.ofMinor(minorUnits).divideRoundingHalfUp(divisor).getMinorUnits())
+                    .as("%d / %d", minorUnits, divisor)
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void divideByZeroThrows() {
+        assertThatThrownBy(() -> Money.ofMinor(1).divideRoundingHalfUp(0)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void percentOfRoundsToFourDecimalPlacesOfTheRatio() {
+        assertThat(Money.ofMinor(1234).percentOf(Money.ofMinor(10000))).isEqualTo(12.34);
+        assertThat(Money.ofMinor(1).percentOf(Money.ofMinor(3))).isEqualTo(33.33);
+        assertThat(Money.ofMinor(2).percentOf(Money.ofMinor(3))).isEqualTo(66.67);
+        assertThat(Money.ofMinor(-2).percentOf(Money.ofMinor(3))).isEqualTo(-66.67);
+        assertThat(Money.ofMinor(5).percentOf(Money.ofMinor(2))).isEqualTo(250.0);
+        assertThat(Money.ofMinor(5).percentOf(Money.ZERO)).isEqualTo(0.0);
+        assertThat(Money.ofMinor(5).percentOf(Money.ofMinor(-10))).isEqualTo(0.0);
+    }
+}
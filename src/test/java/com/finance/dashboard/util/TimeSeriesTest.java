@@ -0,0 +1,48 @@
+package com.finance.dashboard.util;
+
+import com.finance.dashboard.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimeSeriesTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 15);
+    private static final LocalDate END = LocalDate.of(2024, 3, 10);
+
+    @Test
+    void addsIntoTheBucketOfTheDate() {
+        TimeSeries series = new TimeSeries(TimeSeries.Granularity.MONTH, START, END);
+        series.add(LocalDate.of(2024, 1, 20), TransactionType.INCOME, new BigDecimal("100.10"));
+        series.add(LocalDate.of(2024, 1, 31), TransactionType.INCOME, new BigDecimal("0.05"));
+        series.add(LocalDate.of(2024, 2, 1), TransactionType.EXPENSE, new BigDecimal("-12.5"));
+        // Outside the window
+        series.add(LocalDate.of(2024, 1, 14), TransactionType.INCOME, new BigDecimal("999"));
+        series.add(LocalDate.of(2024, 3, 11), TransactionType.EXPENSE, new BigDecimal("-999"));
+
+        assertThat(series.size()).isEqualTo(3);
+        assertThat(series.getPeriodStart(0)).isEqualTo(START);
+        assertThat(series.getPeriodStart(1)).isEqualTo(LocalDate.of(2024, 2, 1));
+        assertThat(series.getIncome(0)).isEqualTo(new BigDecimal("100.15"));
+        assertThat(series.getExpensesMinor(1)).isEqualTo(-1250);
+        assertThat(series.getExpenses(1)).isEqualTo(new BigDecimal("-12.50"));
+        assertThat(series.getIncomeMinor(2)).isZero();
+        assertThat(series.getExpensesMinor(2)).isZero();
+    }
+
+    @Test
+    void followsTheMoneyConversionAndOverflowRules() {
+        TimeSeries series = new TimeSeries(TimeSeries.Granularity.DAY, START, START);
+        assertThatThrownBy(() -> series.add(START, TransactionType.INCOME, new BigDecimal("0.005")))
+                .isInstanceOf(ArithmeticException.class);
+
+        series.add(START, TransactionType.INCOME, Money.ofMinor(Long.MAX_VALUE).toBigDecimal());
+        assertThatThrownBy(() -> series.add(START, TransactionType.INCOME, new BigDecimal("0.01")))
+                .isInstanceOf(ArithmeticException.class);
+        assertThat(series.getIncomeMinor(0)).isEqualTo(Long.MAX_VALUE);
+    }
+}